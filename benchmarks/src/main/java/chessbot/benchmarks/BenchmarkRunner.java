@@ -0,0 +1,31 @@
+package chessbot.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+* Runs the benchmarks with the allocation profiler (-prof gc) on and writes the results to a JSON file,
+* so that two runs can be compared.
+* Any normal JMH arguments can be given too, for example a regex to only run some of the benchmarks.
+*/
+public class BenchmarkRunner {
+
+   public static void main(String[] args) throws Exception {
+       CommandLineOptions commandLine = new CommandLineOptions(args);
+
+       OptionsBuilder builder = new OptionsBuilder();
+       builder.parent(commandLine);
+       builder.addProfiler(GCProfiler.class);
+       if (!commandLine.getResultFormat().hasValue())
+           builder.resultFormat(ResultFormatType.JSON);
+       if (!commandLine.getResult().hasValue())
+           builder.result("jmh-result.json");
+
+       Options options = builder.build();
+       new Runner(options).run();
+   }
+}
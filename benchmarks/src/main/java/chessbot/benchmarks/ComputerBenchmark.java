@@ -0,0 +1,56 @@
+package chessbot.benchmarks;
+
+import chessbot.Computer;
+import chessbot.MoveList;
+import chessbot.Position;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+* Benchmarks for the parts of Computer that run at every node of the search.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputerBenchmark {
+
+   private Computer computer;
+   private int[] legalMoves;
+   private MoveList moves = new MoveList();
+
+   @Setup
+   public void setUpComputer(FenCorpus corpus) {
+       computer = new Computer();
+       Position p = corpus.position;
+       legalMoves = p.findLegalMoves(p);
+   }
+
+   // scores the moves and then picks every one of them, which is the most work the search can ask of the ordering
+   @Benchmark
+   public int orderMoves(FenCorpus corpus) {
+       computer.orderMoves(corpus.position, legalMoves, moves);
+       int sum = 0;
+       for (int move = moves.next(); move != 0; move = moves.next())
+           sum += move;
+       return sum;
+   }
+
+   @Benchmark
+   public int staticEvaluation(FenCorpus corpus) {
+       return computer.staticEvaluation(corpus.position);
+   }
+}
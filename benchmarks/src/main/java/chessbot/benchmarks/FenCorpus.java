@@ -0,0 +1,49 @@
+package chessbot.benchmarks;
+
+import chessbot.Const;
+import chessbot.Position;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+* This class holds the positions that every benchmark is run on.
+* They go from the opening to the endgame so that a change that only helps one kind of position shows up.
+* JMH runs each benchmark once for every name in the @Param list below, and the results are reported per position.
+*/
+@State(Scope.Thread)
+public class FenCorpus {
+
+   @Param({"start", "italian", "kiwipete", "middlegame", "pawns", "endgame"})
+   public String name;
+
+   public Position position;
+
+   @Setup
+   public void setUpPosition() {
+       position = new Position();
+       position.readFen(fen(name));
+   }
+
+   // returns the fen of the position with the given name
+   public static String fen(String name) {
+       switch (name) {
+           case "start":
+               return Const.STARTING_POSITION;
+           case "italian":
+               return "r1bqk1nr/pppp1ppp/2n5/2b1p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4";
+           case "kiwipete":
+               return "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+           case "middlegame":
+               return "r2q1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP2BPPP/R2Q1RK1 b - - 3 10";
+           case "pawns":
+               return "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+           case "endgame":
+               return "8/5k2/3p4/1p1Pp2p/pP2Pp1P/P4P1K/8/8 b - - 0 50";
+           default:
+               throw new IllegalArgumentException("Unknown position: " + name);
+       }
+   }
+}
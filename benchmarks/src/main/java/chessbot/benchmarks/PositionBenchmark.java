@@ -0,0 +1,63 @@
+package chessbot.benchmarks;
+
+import chessbot.Const;
+import chessbot.Position;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+* Benchmarks for the move generation in Position.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionBenchmark {
+
+   private int[] map = new int[64];
+   private int[] buffer = new int[Const.BUFFER_SIZE];
+   private int move; // the first legal move of the position, used by getMovedBoard
+
+   @Setup
+   public void findFirstMove(FenCorpus corpus) {
+       Position p = corpus.position;
+       move = p.findLegalMoves(p)[0];
+   }
+
+   @Benchmark
+   public int generateMoves(FenCorpus corpus) {
+       return corpus.position.generateMoves(Const.GENERATE_ALL, buffer);
+   }
+
+   // the first stage of the search's move generation
+   @Benchmark
+   public int generateCaptures(FenCorpus corpus) {
+       return corpus.position.generateMoves(Const.GENERATE_CAPTURES, buffer);
+   }
+
+   @Benchmark
+   public int[] threatMap(FenCorpus corpus) {
+       Position p = corpus.position;
+       int opponent = (p.getTurn() == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       return p.threatMap(p, opponent, map);
+   }
+
+   @Benchmark
+   public Position getMovedBoard(FenCorpus corpus) {
+       Position p = corpus.position;
+       return p.getMovedBoard(p, move);
+   }
+}
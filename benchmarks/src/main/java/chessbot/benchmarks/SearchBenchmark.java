@@ -0,0 +1,80 @@
+package chessbot.benchmarks;
+
+import chessbot.Computer;
+import chessbot.Const;
+import chessbot.Position;
+import chessbot.TranspositionTable;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+* Benchmarks for a fixed-depth alphaBetaA search, and for iterative deepening up to a fixed depth.
+* The transposition table, the killer moves, and the history are cleared before every search so that every search does the same work.
+* Null move pruning, late move reductions, and aspiration windows can be turned off to compare, e.g. -p nullMove=true,false
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+   @Param({"3"})
+   public int depth;
+
+   @Param({"true"})
+   public boolean nullMove;
+
+   @Param({"true"})
+   public boolean lateMoveReductions;
+
+   // the depth of the last iteration of iterativeDeepening (aspiration windows are only used from Const.ASPIRATION_MIN_DEPTH on)
+   @Param({"6"})
+   public int iterationDepth;
+
+   @Param({"true"})
+   public boolean aspiration;
+
+   private TranspositionTable table;
+   private Computer computer;
+
+   @Setup
+   public void setUpComputer() {
+       table = new TranspositionTable(16);
+       computer = new Computer(table);
+       computer.setNullMovePruning(nullMove);
+       computer.setLateMoveReductions(lateMoveReductions);
+       computer.setAspirationWindows(aspiration);
+   }
+
+   @Setup(Level.Invocation)
+   public void clearTables() {
+       table.clear();
+       computer.clearMoveOrdering();
+   }
+
+   @Benchmark
+   public int alphaBetaA(FenCorpus corpus) {
+       Position p = corpus.position;
+       return computer.alphaBetaA(p, depth, Const.NEGATIVE_INFINITY, Const.POSITIVE_INFINITY, p.getTurn() == Const.WHITE);
+   }
+
+   @Benchmark
+   public int iterativeDeepening(FenCorpus corpus) {
+       return computer.iterativeDeepeningToDepth(corpus.position, iterationDepth);
+   }
+}
@@ -0,0 +1,168 @@
+package chessbot;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public class Arm {
+
+    /**
+     *  This class handles the interface while playing the robotic arm
+     *  Note: this class only works with the player playing white and the arm playing black
+     */
+
+    public void playArm() {
+
+        Position position = new Position(); //the board position will be stored in this variable
+        LazySmpSearch search = new LazySmpSearch(Const.SEARCH_THREADS); //this searches for the arm's move with every core of the computer
+        Computer computer = search.getComputer(); //this variable/class is used to determine what move the arm will make
+
+        //this class is used in communicating with the arduino uno, which facilitates voltage I/O communication with the robotic arm
+        UnoSerialConnection arduinoUno = new UnoSerialConnection();
+        arduinoUno.openPort(); //the port is opened at the beginning of the program and remains open so that the process of opening and closing it doesn't interfere with the Serial communication
+
+        // this class is used in communicating with the arduinoMega, which records the binary position of the physical board
+        MegaSerialConnection arduinoMega = new MegaSerialConnection();
+
+        // the opening book, which gives the computer its moves in well-known openings without searching
+        OpeningBook book = null;
+        try {
+            book = new OpeningBook(Paths.get(Const.BOOK_FILE));
+            System.out.println("Using the opening book " + Const.BOOK_FILE + " (" + book.getEntries() + " entries)");
+        } catch (IOException e) {
+            System.out.println("No opening book (" + e.getMessage() + "), every move will be searched");
+        }
+
+        // the endgame bitbases, which tell the search who wins endgames with few pieces (see Bitbases)
+        try {
+            Bitbases bitbases = Bitbases.open(Paths.get(Const.BITBASE_DIRECTORY));
+            search.setBitbases(bitbases);
+            System.out.println("Using " + bitbases.size() + " endgame bitbases from " + Const.BITBASE_DIRECTORY);
+        } catch (IOException e) {
+            System.out.println("No endgame bitbases (" + e.getMessage() + ")");
+        }
+
+        // this class is essentially a function that determines what move the player made
+        DecodeMove decodeMove = new DecodeMove();
+
+        // these variable arrays are used with "decodeMove" to determine what move the player made
+        byte[] startPos = new byte[64];
+        byte[] endPos = new byte[64];
+        byte[] changedSquares = new byte[64];
+        byte[][] bufferArrays;
+
+        //these variables are used in printing what moves each player made
+        int start;
+        int end;
+
+
+        System.out.println("You (white) are playing against the robotic arm. \n");
+        position.readFen(Const.STARTING_POSITION); //sets the starting position of a chess game
+        // every move is made on this same position, so it remembers the keys of the game's positions
+        // the search gets them with its copy of the position and scores a repetition of the game as a draw
+
+        // this is the while loop that will loop for every move
+        while (true) {
+
+            position.printBoard();
+            System.out.println("Make a move on the board, then press the button:");
+
+            // this is section where the information about the board is read and decoded
+            bufferArrays = arduinoMega.serialRead(); //reads the three arrays from the arduino mega
+            // transfers the information into 1D arrays
+            for (int i=0; i<64; i++) {
+                startPos[i] = bufferArrays[0][i];
+                endPos[i] = bufferArrays[1][i];
+                changedSquares[i] = bufferArrays[2][i];
+            }
+            // determines the move made by the player
+            int playerMove = decodeMove.determineMove(startPos, endPos, changedSquares, Const.WHITE);
+
+            //prints out the move the player made along with the new updated position
+            start = Move.getStart(playerMove);
+            end = Move.getEnd(playerMove);
+            // the board can't tell which piece a pawn was promoted to, so the player's pawns always become queens
+            if (position.getPiece(start) == Const.PAWN_PIECE && (end >= 56 || end <= 7))
+                playerMove = Move.makePromotion(start, end, Const.QUEEN_PIECE);
+            System.out.println("Player moved " + position.indexToCoordinate(start)
+                    + " to " + position.indexToCoordinate(end));
+            position.move(position,playerMove);
+            position.printBoard();
+
+            // checks to see if the game is finished
+            // continues if game isn't over
+            //breaks the loop if it is
+            if (computer.isGameOver(position)) {
+                computer.endingSequence(position);
+                break;
+            }
+
+            //Now that the player made his move, the computer will compute a move in response
+            //if the position is in the opening book, the book move is played right away
+            int computerMove = (book == null) ? 0 : book.findMove(position);
+            boolean isBookMove = computerMove != 0;
+            int evaluation = 0;
+            //otherwise it searches deeper and deeper until its time for the move runs out
+            if (!isBookMove) {
+                evaluation = search.search(position, Const.TIME_LIMIT);
+                //after the alphaBeta evaluation, the best move is stored in "computer"'s private variable
+                computerMove = search.getMove();
+            }
+
+            start = Move.getStart(computerMove);
+            end = Move.getEnd(computerMove);
+
+            // prints out the computer's move, moves the piece, and prints the new board position
+            System.out.println("The computer determined the move: " + position.indexToCoordinate(start)
+                    + " to " + position.indexToCoordinate(end)
+                    + (Move.isPromotion(computerMove) ? " (promotes to " + position.pieceToSymbol(Move.getPromotionPiece(computerMove), Const.WHITE) + ")" : ""));
+            if (isBookMove)
+                System.out.println("Book move (" + book.countMoves(position) + " book moves in this position)");
+            else {
+                System.out.println("Computer evaluation: " + Computer.scoreToString(evaluation) + " (depth " + search.getCompletedDepth() + ")");
+                String line = "";
+                for (int move : search.getPrincipalVariation())
+                    line += position.moveToString(move) + " ";
+                System.out.println("Principal variation: " + line);
+                System.out.println("Searched " + search.getNodesPerSecond() + " positions per second with " + search.getThreads() + " threads");
+                System.out.println("Transposition table hit rate: " + search.getTranspositionTable().getHitRate());
+                System.out.println("Pawn hash table hit rate: " + computer.getPawnHashTable().getHitRate());
+                System.out.println("Aspiration window re-searches: " + (computer.getAspirationFailLows() + computer.getAspirationFailHighs())
+                        + " (" + computer.getAspirationFailLows() + " low, " + computer.getAspirationFailHighs() + " high) in "
+                        + computer.getAspirationSearches() + " iterations");
+                System.out.println("Bitbase hits: " + search.getBitbaseHits());
+            }
+
+            // sends the move command to the arduino uno
+            byte[] command = computer.determineArduinoCommand(position, computerMove);
+
+            position.move(position,computerMove);
+            position.printBoard();
+
+            // the arm's move can end the game too (e.g. by checkmate or by repeating a position a third time)
+            boolean isGameOver = computer.isGameOver(position);
+
+            System.out.println("Sending command: \n");
+            for (int i = 0; i < 8; i++) {
+                System.out.print(command[i]);
+            }
+            System.out.println();
+
+            arduinoUno.serialLoop(command);
+
+            // This is simply down-time. The arm will be moving the move during this time
+            try {
+                Thread.sleep(5000);
+            } catch (Exception e) {}
+
+            //This waits for the confirmation that the arm finished its move before looping
+            arduinoUno.serialRead();
+
+            if (isGameOver) {
+                computer.endingSequence(position);
+                break;
+            }
+        }
+
+        arduinoUno.closePort();
+    }
+}
@@ -0,0 +1,201 @@
+package chessbot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+* This class holds the bitbase of one endgame (e.g. KQKR, a king and a queen against a king and a rook).
+* A bitbase knows whether every position of the endgame is won, drawn, or lost for the side to move,
+* so the search doesn't have to find out by searching (see Bitbases and BitbaseGenerator).
+*
+* The side with the pieces in the first half of the name is the "strong" side, and the other one is the "weak" side.
+* The positions are stored as if the strong side were white: if it is black, every square is flipped from top to bottom.
+* The strong king is also always on the a-d files, since flipping a position from left to right doesn't change its result
+* (there's no castling in these endgames), which halves the size of the bitbase.
+*
+* Each position has an index made from the squares of the pieces, in the order of the name:
+*   index = ((((strong king) * 64 + square of the 2nd piece) * 64 + square of the 3rd piece) ...) * 2 + (1 if the weak side is to move)
+* where the strong king's square is counted only over the a-d files (0-31).
+* The file is the 2-bit result of each index (Const.BITBASE_DRAW, BITBASE_WIN, BITBASE_LOSS, or BITBASE_ILLEGAL),
+* four to a byte with the first index in the lowest bits.
+* It is memory-mapped, so looking a position up only reads the one byte it needs.
+*/
+public class Bitbase {
+
+   private final String name;
+
+   // the pieces of the endgame in the order of the name, and which of them belong to the weak side
+   // the first piece is always the strong king
+   private final int[] pieces;
+   private final boolean[] weak;
+
+   // how many of each piece (other than the king) each side has, packed 4 bits per kind of piece (see Bitbases.probe())
+   private final int strongMaterial;
+   private final int weakMaterial;
+
+   private final ByteBuffer data;
+
+   /**
+    * @param name
+    *      The name of the endgame, e.g. "KPK" or "KQKR"
+    * @param data
+    *      The 2-bit results of every index
+    */
+   public Bitbase(String name, ByteBuffer data) {
+       int weakKing = name.indexOf('K', 1);
+       if (name.charAt(0) != 'K' || weakKing < 0 || data.capacity() < size(name.length()) / 4)
+           throw new IllegalArgumentException("not a bitbase: " + name);
+
+       this.name = name;
+       this.data = data;
+       pieces = new int[name.length()];
+       weak = new boolean[name.length()];
+       int strong = 0;
+       int other = 0;
+       for (int i = 0; i<pieces.length; i++) {
+           pieces[i] = pieceOf(name.charAt(i));
+           weak[i] = i >= weakKing;
+           if (pieces[i] == Const.KING_PIECE)
+               continue;
+           if (weak[i])
+               other += 1 << (4 * (pieces[i] - 1));
+           else
+               strong += 1 << (4 * (pieces[i] - 1));
+       }
+       strongMaterial = strong;
+       weakMaterial = other;
+   }
+
+   /**
+    * Maps the bitbase file into memory.
+    * @throws IOException
+    *      if the file can't be read
+    */
+   public static Bitbase open(String name, Path path) throws IOException {
+       try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+           // the mapping stays valid after the channel is closed
+           return new Bitbase(name, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+       }
+   }
+
+   // returns how many indexes a bitbase with this many pieces has
+   public static int size(int pieceCount) {
+       return 2 * 32 << (6 * (pieceCount - 1));
+   }
+
+   public String getName() {
+       return name;
+   }
+
+   public int getPieceCount() {
+       return pieces.length;
+   }
+
+   public int getPiece(int i) {
+       return pieces[i];
+   }
+
+   public boolean isWeak(int i) {
+       return weak[i];
+   }
+
+   int getStrongMaterial() {
+       return strongMaterial;
+   }
+
+   int getWeakMaterial() {
+       return weakMaterial;
+   }
+
+   // returns the 2-bit result stored at the index
+   public int get(int index) {
+       return (data.get(index >>> 2) >>> ((index & 3) << 1)) & 3;
+   }
+
+   /**
+    * Looks the position up. The position must have exactly the pieces of this endgame.
+    * @param strongColor
+    *      The color that has the strong side's pieces
+    * @return
+    *      Returns the result for the side to move (Const.BITBASE_DRAW, BITBASE_WIN, or BITBASE_LOSS)
+    */
+   public int probe(Position p, int strongColor) {
+       int weakColor = (strongColor == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       int flip = (strongColor == Const.WHITE) ? 0 : 56;
+       int king = p.getKingSquare(strongColor) ^ flip;
+       int mirror = ((king & 7) >= 4) ? 7 : 0;
+       int index = kingIndex(king ^ mirror);
+       // no side has two of the same piece, so each bitboard has one square
+       for (int i = 1; i<pieces.length; i++) {
+           int square = Long.numberOfTrailingZeros(p.getBitboard(pieces[i], weak[i] ? weakColor : strongColor));
+           index = index * 64 + (square ^ flip ^ mirror);
+       }
+       return get(index * 2 + ((p.getTurn() == strongColor) ? 0 : 1));
+   }
+
+   /**
+    * Looks up a position given as a list of pieces, which must be exactly the pieces of this endgame (in any order).
+    * This is how BitbaseGenerator looks up the positions after a capture or a promotion.
+    */
+   public int probe(int[] listPieces, int[] listColors, int[] listSquares, int count, int strongColor, int turn) {
+       int flip = (strongColor == Const.WHITE) ? 0 : 56;
+       int mirror = 0;
+       int index = 0;
+       for (int i = 0; i<pieces.length; i++) {
+           int color = weak[i] ? (Const.WHITE + Const.BLACK - strongColor) : strongColor;
+           int square = 0;
+           for (int j = 0; j<count; j++) {
+               if (listPieces[j] == pieces[i] && listColors[j] == color) {
+                   square = listSquares[j] ^ flip;
+                   break;
+               }
+           }
+           if (i == 0) {
+               mirror = ((square & 7) >= 4) ? 7 : 0;
+               index = kingIndex(square ^ mirror);
+           }
+           else
+               index = index * 64 + (square ^ mirror);
+       }
+       return get(index * 2 + ((turn == strongColor) ? 0 : 1));
+   }
+
+   /**
+    * Finds the index of a position whose squares are already in the order of the name and flipped so that the strong side is white.
+    * The strong king is moved to the a-d files here if it isn't.
+    */
+   public static int index(int[] squares, int count, boolean weakToMove) {
+       int mirror = ((squares[0] & 7) >= 4) ? 7 : 0;
+       int index = kingIndex(squares[0] ^ mirror);
+       for (int i = 1; i<count; i++)
+           index = index * 64 + (squares[i] ^ mirror);
+       return index * 2 + (weakToMove ? 1 : 0);
+   }
+
+   // numbers the squares of the a-d files from 0 to 31
+   private static int kingIndex(int square) {
+       return (square >>> 3) * 4 + (square & 7);
+   }
+
+   // returns the kind of piece for a letter of an endgame's name
+   static int pieceOf(char letter) {
+       switch (letter) {
+           case 'P':
+               return Const.PAWN_PIECE;
+           case 'N':
+               return Const.KNIGHT_PIECE;
+           case 'B':
+               return Const.BISHOP_PIECE;
+           case 'R':
+               return Const.ROOK_PIECE;
+           case 'Q':
+               return Const.QUEEN_PIECE;
+           case 'K':
+               return Const.KING_PIECE;
+       }
+       throw new IllegalArgumentException("not a piece: " + letter);
+   }
+}
@@ -0,0 +1,458 @@
+package chessbot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+* This class makes the endgame bitbases (see Bitbase) by retrograde analysis, which works backwards from the mates:
+*   1. Every position is looked at once. The checkmates are lost, and so is a position whose every move loses (e.g. has to give up
+*      its last piece). A position with a move that wins is won, e.g. a capture into a smaller endgame that is won,
+*      which is looked up in that endgame's bitbase.
+*   2. Then, over and over, the moves that lead to the positions found in the last round are taken back ("unmoves").
+*      The side that made the move wins the position before it if the position after it is lost for the other side.
+*      If the position after it is won for the other side, the position before it is lost only if every other move loses too.
+*   3. When a round finds nothing new, every position that is still unknown is a draw,
+*      since neither side can force the game into a position that is won for it.
+* Every round goes through the positions in chunks, with one thread for every core.
+*
+* Enpassant is left out: it needs a pawn on each side, and none of these endgames has that.
+*
+* Running it: BitbaseGenerator [-threads n] [directory] [endgame ...]
+* It makes every endgame in Bitbases.ENDGAMES (or only the ones given) into the directory (Const.BITBASE_DIRECTORY if none is given).
+*/
+public class BitbaseGenerator {
+
+   // what is known about a position while its bitbase is being made
+   // WIN, LOSS, and ILLEGAL are the same as the values in a bitbase file
+   private static final byte UNKNOWN = 0;
+   private static final byte WIN = Const.BITBASE_WIN;
+   private static final byte LOSS = Const.BITBASE_LOSS;
+   private static final byte ILLEGAL = Const.BITBASE_ILLEGAL;
+   private static final byte DRAW = 4; // stalemates, and captures into drawn endgames, are known to be draws right away
+
+   // how many positions a thread takes at a time
+   private static final int CHUNK_SIZE = 1 << 14;
+
+   // the pieces to promote a pawn to
+   private static final int[] PROMOTIONS = {Const.QUEEN_PIECE, Const.ROOK_PIECE, Const.BISHOP_PIECE, Const.KNIGHT_PIECE};
+
+   private final Bitbases bitbases; // the bitbases of the smaller endgames, where captures and promotions lead
+   private final int threads;
+
+   // the endgame being made: its pieces in the order of its name, and which of them belong to the weak side (black here)
+   private int[] pieces;
+   private boolean[] weak;
+   private int strongKing;
+   private int weakKing;
+
+   // what is known about each position, and the round it was found in (only its lowest 8 bits, see retract())
+   private byte[] values;
+   private byte[] rounds;
+   private int round;
+
+   // statistics about the last bitbase that was made
+   private long wins;
+   private long draws;
+   private long losses;
+   private int roundCount;
+
+   /**
+    * @param bitbases
+    *      The bitbases that are already made. An endgame can only be made once the endgames it turns into are in here.
+    * @param threads
+    *      How many threads go through the positions
+    */
+   public BitbaseGenerator(Bitbases bitbases, int threads) {
+       this.bitbases = bitbases;
+       this.threads = Math.max(threads, 1);
+   }
+
+   /**
+    * Makes the bitbase of an endgame.
+    * @param name
+    *      The endgame, e.g. "KQKR" (no side may have two of the same piece)
+    * @return
+    *      Returns the contents of the bitbase file
+    * @throws IllegalStateException
+    *      if the bitbase of an endgame that a capture or promotion leads to is missing
+    */
+   public byte[] generate(String name) throws InterruptedException {
+       int count = name.length();
+       pieces = new int[count];
+       weak = new boolean[count];
+       for (int i = 0; i<count; i++) {
+           pieces[i] = Bitbase.pieceOf(name.charAt(i));
+           weak[i] = i >= name.indexOf('K', 1);
+       }
+       strongKing = 0;
+       weakKing = name.indexOf('K', 1);
+
+       int size = Bitbase.size(count);
+       values = new byte[size];
+       rounds = new byte[size];
+
+       // round 0 looks at every position by itself, then every round takes back the moves into the last round's positions
+       forEachPosition(Worker::initialize);
+       round = 0;
+       while (forEachPosition(Worker::retract) > 0)
+           round++;
+       roundCount = round + 1;
+
+       // packs the results 4 to a byte, the unknown positions are the draws
+       byte[] packed = new byte[size / 4];
+       wins = 0;
+       draws = 0;
+       losses = 0;
+       for (int index = 0; index<size; index++) {
+           int value = values[index];
+           if (value == WIN)
+               wins++;
+           else if (value == LOSS)
+               losses++;
+           else if (value != ILLEGAL) {
+               value = Const.BITBASE_DRAW;
+               draws++;
+           }
+           packed[index >>> 2] |= value << ((index & 3) << 1);
+       }
+       values = null;
+       rounds = null;
+       return packed;
+   }
+
+   public long getWins() {
+       return wins;
+   }
+
+   public long getDraws() {
+       return draws;
+   }
+
+   public long getLosses() {
+       return losses;
+   }
+
+   public int getRoundCount() {
+       return roundCount;
+   }
+
+   // something that a worker does to one position, returns 1 if it found out what the position (or another one) is worth
+   private interface Task {
+       int run(Worker worker, int index);
+   }
+
+   // runs the task on every position with every thread, returns how many positions were found
+   private long forEachPosition(Task task) throws InterruptedException {
+       AtomicInteger nextChunk = new AtomicInteger();
+       AtomicLong found = new AtomicLong();
+       AtomicReference<RuntimeException> failure = new AtomicReference<>();
+       int size = values.length;
+
+       Thread[] workers = new Thread[threads];
+       for (int t = 0; t<threads; t++) {
+           workers[t] = new Thread(() -> {
+               Worker worker = new Worker();
+               long positions = 0;
+               try {
+                   for (int start = nextChunk.getAndAdd(CHUNK_SIZE); start < size; start = nextChunk.getAndAdd(CHUNK_SIZE)) {
+                       int end = Math.min(start + CHUNK_SIZE, size);
+                       for (int index = start; index<end; index++)
+                           positions += task.run(worker, index);
+                   }
+               } catch (RuntimeException e) {
+                   failure.compareAndSet(null, e);
+                   nextChunk.set(size);
+               }
+               found.addAndGet(positions);
+           });
+           workers[t].start();
+       }
+       for (Thread worker : workers)
+           worker.join();
+
+       if (failure.get() != null)
+           throw failure.get();
+       return found.get();
+   }
+
+   /**
+    * What each thread uses to look at positions.
+    * A position is kept as the squares of the pieces (in the order of the endgame's name) and the side to move,
+    * with the strong side as white. The other threads write to values[] at the same time, but that is safe:
+    * a position only ever goes from unknown to known, and whichever thread finds it out finds the same thing.
+    */
+   private class Worker {
+       private final int[] squares = new int[pieces.length];
+       private boolean weakToMove;
+
+       // the position after a capture or promotion, as a list of pieces for Bitbases.probe()
+       private final int[] childPieces = new int[pieces.length];
+       private final int[] childColors = new int[pieces.length];
+       private final int[] childSquares = new int[pieces.length];
+
+       // the first round: finds the illegal positions, and the positions that are won or lost without looking at the rest of the endgame
+       int initialize(int index) {
+           decode(index);
+           if (!isLegal()) {
+               values[index] = ILLEGAL;
+               return 0;
+           }
+           byte value = evaluate();
+           if (value == UNKNOWN)
+               return 0;
+           values[index] = value;
+           rounds[index] = 0;
+           return (value == DRAW) ? 0 : 1;
+       }
+
+       // the other rounds: takes back every move into a position found in the last round, and finds out what the positions before it are worth
+       // only 8 bits of the round are kept, so a position from 256 rounds ago can be taken back again, which just finds nothing new
+       int retract(int index) {
+           byte value = values[index];
+           if ((value != WIN && value != LOSS) || rounds[index] != (byte) round)
+               return 0;
+           decode(index);
+           boolean moverWeak = !weakToMove;
+           long occupied = occupied();
+
+           int found = 0;
+           for (int i = 0; i<pieces.length; i++) {
+               if (weak[i] != moverWeak)
+                   continue;
+               int to = squares[i];
+               long sources;
+               if (pieces[i] == Const.PAWN_PIECE)
+                   sources = pawnSources(to, moverWeak, occupied);
+               else
+                   sources = Bitboards.attacks(pieces[i], color(i), to, occupied) & ~occupied;
+
+               for (; sources != 0; sources &= sources - 1) {
+                   squares[i] = Long.numberOfTrailingZeros(sources);
+                   weakToMove = moverWeak;
+                   int parent = Bitbase.index(squares, squares.length, moverWeak);
+                   if (values[parent] == UNKNOWN) {
+                       // a move into a lost position wins, otherwise every move has to be checked
+                       byte parentValue = (value == LOSS) ? WIN : evaluate();
+                       if (parentValue == WIN || parentValue == LOSS) {
+                           values[parent] = parentValue;
+                           rounds[parent] = (byte) (round + 1);
+                           found++;
+                       }
+                   }
+                   weakToMove = !moverWeak;
+               }
+               squares[i] = to;
+           }
+           return found;
+       }
+
+       // the squares a pawn on the square could have come from (not by a capture, which would be from a bigger endgame)
+       private long pawnSources(int to, boolean black, long occupied) {
+           int back = black ? 8 : -8;
+           int from = to + back;
+           // a pawn can't have come from the first rank
+           if (from < 8 || from >= 56 || (occupied & (1L << from)) != 0)
+               return 0L;
+           long sources = 1L << from;
+           // a pawn on its fourth rank could have moved two squares
+           if (to >>> 3 == (black ? 4 : 3) && (occupied & (1L << (from + back))) == 0)
+               sources |= 1L << (from + back);
+           return sources;
+       }
+
+       /**
+        * Finds out what the position is worth from what is already known about the positions after each move.
+        * @return
+        *      Returns WIN if a move leads to a lost position, LOSS if every move leads to a won position (or there are none in check),
+        *      DRAW if there are no moves without being in check, and UNKNOWN otherwise
+        */
+       private byte evaluate() {
+           boolean moverWeak = weakToMove;
+           int king = moverWeak ? weakKing : strongKing;
+           long occupied = occupied();
+           long own = 0L;
+           for (int i = 0; i<pieces.length; i++)
+               if (weak[i] == moverWeak)
+                   own |= 1L << squares[i];
+           boolean anyMoves = false;
+           boolean allLost = true; // whether every move so far leads to a position that is won for the other side
+
+           for (int i = 0; i<pieces.length; i++) {
+               if (weak[i] != moverWeak)
+                   continue;
+               int from = squares[i];
+               long targets;
+               if (pieces[i] == Const.PAWN_PIECE)
+                   targets = pawnTargets(from, moverWeak, occupied, occupied & ~own);
+               else
+                   targets = Bitboards.attacks(pieces[i], color(i), from, occupied) & ~own;
+
+               for (; targets != 0; targets &= targets - 1) {
+                   int to = Long.numberOfTrailingZeros(targets);
+                   int captured = pieceOn(to);
+                   squares[i] = to;
+                   long after = (occupied & ~(1L << from)) | (1L << to);
+                   if (isAttacked(squares[king], !moverWeak, after, captured)) {
+                       squares[i] = from;
+                       continue;
+                   }
+                   anyMoves = true;
+
+                   byte value;
+                   if (pieces[i] == Const.PAWN_PIECE && (to >>> 3 == 0 || to >>> 3 == 7)) {
+                       // the best promotion counts
+                       value = WIN;
+                       for (int promotion : PROMOTIONS) {
+                           byte result = probeChild(i, promotion, captured);
+                           if (result == LOSS || (result != WIN && value == WIN))
+                               value = result;
+                       }
+                   }
+                   else if (captured >= 0)
+                       value = probeChild(i, pieces[i], captured);
+                   else
+                       value = values[Bitbase.index(squares, squares.length, !moverWeak)];
+                   squares[i] = from;
+
+                   if (value == LOSS)
+                       return WIN;
+                   if (value != WIN)
+                       allLost = false;
+               }
+           }
+
+           if (!anyMoves)
+               return isAttacked(squares[king], !moverWeak, occupied, -1) ? LOSS : DRAW;
+           return allLost ? LOSS : UNKNOWN;
+       }
+
+       // where a pawn can move: forwards onto empty squares (two from its starting rank) and diagonally onto the enemy's pieces
+       private long pawnTargets(int from, boolean black, long occupied, long enemy) {
+           int forward = black ? -8 : 8;
+           long targets = Bitboards.PAWN_ATTACKS[black ? Const.BLACK : Const.WHITE][from] & enemy;
+           int one = from + forward;
+           if ((occupied & (1L << one)) == 0) {
+               targets |= 1L << one;
+               if (from >>> 3 == (black ? 6 : 1) && (occupied & (1L << (one + forward))) == 0)
+                   targets |= 1L << (one + forward);
+           }
+           return targets;
+       }
+
+       // looks up the position after piece i (already on its new square) captured a piece or promoted, in a smaller endgame
+       private byte probeChild(int i, int piece, int captured) {
+           int count = 0;
+           for (int j = 0; j<pieces.length; j++) {
+               if (j == captured)
+                   continue;
+               childPieces[count] = (j == i) ? piece : pieces[j];
+               childColors[count] = color(j);
+               childSquares[count] = squares[j];
+               count++;
+           }
+           int turn = weakToMove ? Const.WHITE : Const.BLACK;
+           int result = bitbases.probe(childPieces, childColors, childSquares, count, turn);
+           if (result == Const.BITBASE_UNKNOWN)
+               throw new IllegalStateException("a smaller endgame's bitbase is missing (it has to be made first)");
+           return (result == Const.BITBASE_DRAW) ? DRAW : (byte) result;
+       }
+
+       // reads the squares and the side to move of an index (see Bitbase)
+       private void decode(int index) {
+           weakToMove = (index & 1) != 0;
+           index >>>= 1;
+           for (int i = squares.length - 1; i > 0; i--) {
+               squares[i] = index & 63;
+               index >>>= 6;
+           }
+           squares[0] = (index / 4) * 8 + (index % 4);
+       }
+
+       // a position is legal if no two pieces are on the same square, no pawn is on the first or last rank,
+       // and the side that isn't moving isn't in check
+       private boolean isLegal() {
+           long occupied = 0L;
+           for (int i = 0; i<squares.length; i++) {
+               long square = 1L << squares[i];
+               if ((occupied & square) != 0)
+                   return false;
+               if (pieces[i] == Const.PAWN_PIECE && (squares[i] >>> 3 == 0 || squares[i] >>> 3 == 7))
+                   return false;
+               occupied |= square;
+           }
+           int king = weakToMove ? strongKing : weakKing;
+           return !isAttacked(squares[king], weakToMove, occupied, -1);
+       }
+
+       // whether a piece of the side attacks the square (the captured piece, if there is one, is left out)
+       private boolean isAttacked(int square, boolean byWeak, long occupied, int captured) {
+           for (int i = 0; i<pieces.length; i++) {
+               if (weak[i] == byWeak && i != captured
+                       && (Bitboards.attacks(pieces[i], color(i), squares[i], occupied) & (1L << square)) != 0)
+                   return true;
+           }
+           return false;
+       }
+
+       // returns which piece is on the square, or -1 if none is
+       private int pieceOn(int square) {
+           for (int i = 0; i<squares.length; i++)
+               if (squares[i] == square)
+                   return i;
+           return -1;
+       }
+
+       private long occupied() {
+           long occupied = 0L;
+           for (int square : squares)
+               occupied |= 1L << square;
+           return occupied;
+       }
+
+       private int color(int i) {
+           return weak[i] ? Const.BLACK : Const.WHITE;
+       }
+   }
+
+   public static void main(String[] args) throws IOException, InterruptedException {
+       int threads = Runtime.getRuntime().availableProcessors();
+       int i = 0;
+       if (args.length >= 2 && args[0].equals("-threads")) {
+           threads = Integer.parseInt(args[1]);
+           i = 2;
+       }
+       Path directory = Paths.get((i < args.length) ? args[i++] : Const.BITBASE_DIRECTORY);
+       List<String> wanted = new ArrayList<>(Arrays.asList(args).subList(i, args.length));
+       if (wanted.isEmpty())
+           wanted.addAll(Arrays.asList(Bitbases.ENDGAMES));
+       Files.createDirectories(directory);
+
+       // the endgames that aren't made this time are read from the directory, in case the ones that are made need them
+       Bitbases bitbases = new Bitbases();
+       BitbaseGenerator generator = new BitbaseGenerator(bitbases, threads);
+       for (String name : Bitbases.ENDGAMES) {
+           Path path = directory.resolve(name + ".bin");
+           if (!wanted.contains(name)) {
+               if (Files.exists(path))
+                   bitbases.add(Bitbase.open(name, path));
+               continue;
+           }
+           long startTime = System.currentTimeMillis();
+           byte[] bitbase = generator.generate(name);
+           Files.write(path, bitbase);
+           bitbases.add(new Bitbase(name, ByteBuffer.wrap(bitbase)));
+           long time = System.currentTimeMillis() - startTime;
+           System.out.println(name + ": " + generator.getWins() + " won, " + generator.getDraws() + " drawn, "
+                   + generator.getLosses() + " lost (" + generator.getRoundCount() + " rounds, " + time + " ms)");
+       }
+   }
+}
@@ -0,0 +1,120 @@
+package chessbot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+* This class holds the endgame bitbases (see Bitbase) and finds the one that a position belongs to.
+* The search looks up positions with few pieces here, and gets their exact result instead of searching them.
+*
+* The bitbases are made by BitbaseGenerator and are files named after their endgame (e.g. KQKR.bin) in one directory.
+* Only the endgames whose files are there can be looked up, except that positions without enough pieces to mate
+* (a king against a king and at most one knight or bishop) are always known to be draws.
+*/
+public class Bitbases {
+
+   // every endgame there is a bitbase for, in the order they have to be made
+   // (an endgame's bitbase is needed to make the bitbases of the endgames that can turn into it by a capture or a promotion)
+   public static final String[] ENDGAMES = {"KQK", "KRK", "KPK", "KQKR", "KQKB", "KQKN", "KRKB", "KRKN", "KBNK"};
+
+   private Bitbase[] bitbases = new Bitbase[0];
+
+   /**
+    * Opens the bitbases in the directory. The endgames without a file are skipped.
+    * @return
+    *      Returns the bitbases
+    * @throws IOException
+    *      if a file is there but can't be read
+    */
+   public static Bitbases open(Path directory) throws IOException {
+       Bitbases bitbases = new Bitbases();
+       for (String name : ENDGAMES) {
+           Path path = directory.resolve(name + ".bin");
+           if (Files.exists(path))
+               bitbases.add(Bitbase.open(name, path));
+       }
+       return bitbases;
+   }
+
+   public void add(Bitbase bitbase) {
+       bitbases = Arrays.copyOf(bitbases, bitbases.length + 1);
+       bitbases[bitbases.length - 1] = bitbase;
+   }
+
+   // returns how many bitbases there are
+   public int size() {
+       return bitbases.length;
+   }
+
+   /**
+    * Looks the position up in the bitbase of its endgame.
+    * The castling rights and the enpassant square aren't part of a bitbase, so the position shouldn't have them.
+    * @return
+    *      Returns the result for the side to move (Const.BITBASE_DRAW, BITBASE_WIN, or BITBASE_LOSS),
+    *      or Const.BITBASE_UNKNOWN if there is no bitbase for its endgame.
+    */
+   public int probe(Position p) {
+       long occupied = p.getOccupied();
+       if (Long.bitCount(occupied) > Const.BITBASE_PIECES)
+           return Const.BITBASE_UNKNOWN;
+
+       // there are only a few pieces, so going through them is quicker than counting every bitboard
+       int white = 0;
+       int black = 0;
+       for (; occupied != 0; occupied &= occupied - 1) {
+           int square = Long.numberOfTrailingZeros(occupied);
+           int piece = p.getPiece(square);
+           if (piece == Const.KING_PIECE)
+               continue;
+           if (p.getColor(square) == Const.WHITE)
+               white += 1 << (4 * (piece - 1));
+           else
+               black += 1 << (4 * (piece - 1));
+       }
+       if (isInsufficient(white, black))
+           return Const.BITBASE_DRAW;
+       for (Bitbase bitbase : bitbases) {
+           if (bitbase.getStrongMaterial() == white && bitbase.getWeakMaterial() == black)
+               return bitbase.probe(p, Const.WHITE);
+           if (bitbase.getStrongMaterial() == black && bitbase.getWeakMaterial() == white)
+               return bitbase.probe(p, Const.BLACK);
+       }
+       return Const.BITBASE_UNKNOWN;
+   }
+
+   /**
+    * Looks up a position given as a list of pieces (see Bitbase.probe()).
+    * @param turn
+    *      The color to move
+    */
+   public int probe(int[] pieces, int[] colors, int[] squares, int count, int turn) {
+       int white = 0;
+       int black = 0;
+       for (int i = 0; i<count; i++) {
+           if (pieces[i] == Const.KING_PIECE)
+               continue;
+           if (colors[i] == Const.WHITE)
+               white += 1 << (4 * (pieces[i] - 1));
+           else
+               black += 1 << (4 * (pieces[i] - 1));
+       }
+       if (isInsufficient(white, black))
+           return Const.BITBASE_DRAW;
+       for (Bitbase bitbase : bitbases) {
+           if (bitbase.getStrongMaterial() == white && bitbase.getWeakMaterial() == black)
+               return bitbase.probe(pieces, colors, squares, count, Const.WHITE, turn);
+           if (bitbase.getStrongMaterial() == black && bitbase.getWeakMaterial() == white)
+               return bitbase.probe(pieces, colors, squares, count, Const.BLACK, turn);
+       }
+       return Const.BITBASE_UNKNOWN;
+   }
+
+   // nobody can mate with only a knight or a bishop (or nothing at all)
+   private static boolean isInsufficient(int white, int black) {
+       int material = white | black;
+       return (white == 0 || black == 0) && (material == 0 || material == 1 << (4 * (Const.KNIGHT_PIECE - 1))
+               || material == 1 << (4 * (Const.BISHOP_PIECE - 1)));
+   }
+}
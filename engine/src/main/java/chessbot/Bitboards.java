@@ -0,0 +1,253 @@
+package chessbot;
+
+/**
+* This class holds the precomputed attack tables used with the bitboards in Position.
+* A bitboard is a long where every bit represents one square of the board.
+* Bit 0 is a1, bit 7 is h1, bit 56 is a8, and bit 63 is h8 (the same as the square indexes)
+*/
+public class Bitboards {
+
+   // masks for files and ranks
+   public static final long FILE_A = 0x0101010101010101L;
+   public static final long FILE_H = FILE_A << 7;
+   public static final long RANK_1 = 0xFFL;
+   public static final long RANK_2 = RANK_1 << 8;
+   public static final long RANK_3 = RANK_1 << 16;
+   public static final long RANK_6 = RANK_1 << 40;
+   public static final long RANK_7 = RANK_1 << 48;
+   public static final long RANK_8 = RANK_1 << 56;
+
+   // every square of a file, and every square of the files next to it (indexed by file, 0 is the a file)
+   public static final long[] FILES = new long[8];
+   public static final long[] ADJACENT_FILES = new long[8];
+
+   // the squares in front of a pawn on its own file and the files next to it, indexed by [color][square]
+   // if none of these squares have an enemy pawn, the pawn is passed
+   public static final long[][] PASSED_PAWN_MASKS = new long[3][64];
+
+   // squares each piece attacks from a given square on an empty board
+   public static final long[] KNIGHT_ATTACKS = new long[64];
+   public static final long[] KING_ATTACKS = new long[64];
+
+   // squares a pawn attacks, indexed by [color][square]
+   public static final long[][] PAWN_ATTACKS = new long[3][64];
+
+   // the squares strictly between two squares on the same line, and every square of the line through them, indexed by [square][square]
+   // both are 0 if the squares aren't on the same rank, file, or diagonal
+   // a piece that checks the king can be blocked on a BETWEEN square, and a pinned piece can only move along its LINE
+   public static final long[][] BETWEEN = new long[64][64];
+   public static final long[][] LINE = new long[64][64];
+
+   // file and rank steps of the sliding pieces
+   private static final int[][] BISHOP_DIRECTIONS = {{1,1},{-1,1},{1,-1},{-1,-1}};
+   private static final int[][] ROOK_DIRECTIONS = {{1,0},{-1,0},{0,1},{0,-1}};
+
+   /*
+    * Magic bitboards for the sliding pieces.
+    * The only squares that matter for a bishop or rook's attacks are the ones on its lines, not counting the edge of the board (the mask).
+    * Multiplying the occupied squares in the mask by the magic number and shifting the result
+    * gives a unique index for every arrangement of blockers, so the attacks can be looked up in a table.
+    * The magic numbers were found with a random search (ANDing three random longs together for each try)
+    * that kept the first number where no two arrangements with different attacks share an index.
+    */
+   private static final long[] BISHOP_MAGICS = {
+           0x1002200101020088L, 0x4004010404049080L, 0x200404008A020422L, 0x000806004C002202L,
+           0x8001104110000090L, 0x8002080248000202L, 0x0000440484408000L, 0x0002010082012020L,
+           0x0488406912288201L, 0x0101600202004110L, 0x0810100400842440L, 0x0800240410822002L,
+           0x0000020210010030L, 0x8100008260210008L, 0x4404004404044201L, 0x2440008084104200L,
+           0x88220A08207C0280L, 0x4104801001080120L, 0x4110020808304010L, 0x2518050402400980L,
+           0x0002000422010010L, 0x0403020080A00100L, 0x0244200200822880L, 0x0608200200820860L,
+           0x81202818C6100400L, 0x4081501088100100L, 0x2002491448020400L, 0x0070040000440008L,
+           0x0880820004010400L, 0x8490108202C80400L, 0x0004004204050C41L, 0x800102400C241402L,
+           0x1014200A00041013L, 0x0008110400300400L, 0x0042060900220800L, 0x00D2200800010105L,
+           0x0C0A0484008A0020L, 0x801001010802100CL, 0x0919920202440101L, 0x06020A0202604050L,
+           0x4202083240260821L, 0x0118520260221008L, 0x00000C4402021001L, 0x1010006018020100L,
+           0x9600204C10130500L, 0x00C0810403000020L, 0x0002640420801401L, 0x8001040400900840L,
+           0x1002221004048000L, 0x0020808808420401L, 0x0100010080908040L, 0x2000800884040820L,
+           0x1000002020444B28L, 0x01180890D0008888L, 0x4090448800940100L, 0x0160380A00404240L,
+           0x5002042109101080L, 0x800800220D300800L, 0x0808200840441004L, 0x8008022006150402L,
+           0x2000000070020213L, 0x0202414119211100L, 0x8820620204180484L, 0x8012100115010208L
+   };
+   private static final long[] ROOK_MAGICS = {
+           0x0880102080004000L, 0x8340004410002000L, 0x0880200090008268L, 0x0080080080100004L,
+           0x8100110004020800L, 0x0300010004000822L, 0x08801A0029000080L, 0x8100050001204882L,
+           0x0844800081400320L, 0x0804402010004000L, 0x0108802003100480L, 0x0004808008001000L,
+           0x0003001801001014L, 0x0002000200041008L, 0x0004008108042210L, 0x0105000100009042L,
+           0x0400808000400021L, 0xC100404010002000L, 0x0060008010002088L, 0x0400808008001000L,
+           0x4440808008000400L, 0x1002008004000280L, 0x40024400300D1248L, 0x0010020000408104L,
+           0x0101008200204200L, 0x8020002040005000L, 0x4100100080802000L, 0x4008006A80100280L,
+           0x1020080080040080L, 0x0004010040020040L, 0x0018A12400080290L, 0x6140004200008104L,
+           0x4000400020800090L, 0x2020002080804000L, 0x0000408202002010L, 0x0080100501000820L,
+           0x0000800400800800L, 0x000A200408014010L, 0x0100800200800100L, 0xA00800570200008CL,
+           0x008000406000C010L, 0x1040100028002000L, 0x0048200100110040L, 0x0068490210030020L,
+           0x1009080005010010L, 0x2142000804010100L, 0x1001080110840002L, 0x1801004400820001L,
+           0x010440208D020200L, 0x0000400020008080L, 0x0200200080100280L, 0x0000100020090100L,
+           0x0204008008020480L, 0x8104010040020040L, 0x78000201B0080400L, 0x0040800051002880L,
+           0x0050108001002041L, 0x208A801100614003L, 0x0006002042089082L, 0x0011090004201001L,
+           0x1002001004200802L, 0x0005000208040001L, 0x0002002701AC0822L, 0x000010250184004AL
+   };
+   private static final long[] BISHOP_MASKS = new long[64];
+   private static final long[] ROOK_MASKS = new long[64];
+   private static final int[] BISHOP_SHIFTS = new int[64];
+   private static final int[] ROOK_SHIFTS = new int[64];
+
+   // where each square's attacks start in the attack tables
+   private static final int[] BISHOP_OFFSETS = new int[64];
+   private static final int[] ROOK_OFFSETS = new int[64];
+   private static final long[] BISHOP_TABLE = new long[5248];
+   private static final long[] ROOK_TABLE = new long[102400];
+
+   static {
+       int[][] knightSteps = {{1,2},{2,1},{2,-1},{1,-2},{-1,-2},{-2,-1},{-2,1},{-1,2}};
+       for (int square = 0; square < 64; square++) {
+           KNIGHT_ATTACKS[square] = stepAttacks(square, knightSteps);
+           KING_ATTACKS[square] = stepAttacks(square, BISHOP_DIRECTIONS) | stepAttacks(square, ROOK_DIRECTIONS);
+           PAWN_ATTACKS[Const.WHITE][square] = stepAttacks(square, new int[][]{{-1,1},{1,1}});
+           PAWN_ATTACKS[Const.BLACK][square] = stepAttacks(square, new int[][]{{-1,-1},{1,-1}});
+       }
+
+       for (int file = 0; file < 8; file++)
+           FILES[file] = FILE_A << file;
+       for (int file = 0; file < 8; file++) {
+           if (file > 0)
+               ADJACENT_FILES[file] |= FILES[file-1];
+           if (file < 7)
+               ADJACENT_FILES[file] |= FILES[file+1];
+       }
+       for (int square = 0; square < 64; square++) {
+           long files = FILES[square % 8] | ADJACENT_FILES[square % 8];
+           int rank = square / 8;
+           // the ranks above the pawn for white and below it for black
+           long above = (rank == 7) ? 0L : -1L << (8 * (rank + 1));
+           long below = (rank == 0) ? 0L : -1L >>> (8 * (8 - rank));
+           PASSED_PAWN_MASKS[Const.WHITE][square] = files & above;
+           PASSED_PAWN_MASKS[Const.BLACK][square] = files & below;
+       }
+
+       initMagicTable(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS, BISHOP_TABLE);
+       initMagicTable(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS, ROOK_TABLE);
+
+       // two squares are on the same line if a bishop or rook on one attacks the other on an empty board
+       // the squares between them are the ones both attack when each blocks the other
+       for (int a = 0; a < 64; a++) {
+           for (int b = 0; b < 64; b++) {
+               long bits = (1L << a) | (1L << b);
+               if ((bishopAttacks(a, 0L) & (1L << b)) != 0) {
+                   BETWEEN[a][b] = bishopAttacks(a, 1L << b) & bishopAttacks(b, 1L << a);
+                   LINE[a][b] = (bishopAttacks(a, 0L) & bishopAttacks(b, 0L)) | bits;
+               }
+               else if ((rookAttacks(a, 0L) & (1L << b)) != 0) {
+                   BETWEEN[a][b] = rookAttacks(a, 1L << b) & rookAttacks(b, 1L << a);
+                   LINE[a][b] = (rookAttacks(a, 0L) & rookAttacks(b, 0L)) | bits;
+               }
+           }
+       }
+   }
+
+   // fills in the masks and the attack table of every square for one kind of sliding piece
+   private static void initMagicTable(int[][] directions, long[] magics, long[] masks, int[] shifts, int[] offsets, long[] table) {
+       int offset = 0;
+       for (int square = 0; square < 64; square++) {
+           masks[square] = relevantMask(square, directions);
+           shifts[square] = 64 - Long.bitCount(masks[square]);
+           offsets[square] = offset;
+           offset += 1 << Long.bitCount(masks[square]);
+
+           // goes through every arrangement of blockers in the mask
+           long occupied = 0L;
+           do {
+               int index = (int) ((occupied * magics[square]) >>> shifts[square]);
+               table[offsets[square] + index] = slidingAttacks(square, occupied, directions);
+               occupied = (occupied - masks[square]) & masks[square];
+           } while (occupied != 0);
+       }
+   }
+
+   // returns the squares on the lines from the square that can block a sliding piece
+   // the last square of each line is left out because nothing is behind it to block
+   private static long relevantMask(int square, int[][] directions) {
+       long mask = 0L;
+       int file = square % 8;
+       int rank = square / 8;
+       for (int[] direction : directions) {
+           int x = file + direction[0];
+           int y = rank + direction[1];
+           while (x + direction[0] >= 0 && x + direction[0] < 8 && y + direction[1] >= 0 && y + direction[1] < 8) {
+               mask |= 1L << (y*8 + x);
+               x += direction[0];
+               y += direction[1];
+           }
+       }
+       return mask;
+   }
+
+   // returns the squares reached by taking one of the steps from the square, ignoring steps that leave the board
+   private static long stepAttacks(int square, int[][] steps) {
+       long attacks = 0L;
+       int file = square % 8;
+       int rank = square / 8;
+       for (int[] step : steps) {
+           int x = file + step[0];
+           int y = rank + step[1];
+           if (x >= 0 && x < 8 && y >= 0 && y < 8)
+               attacks |= 1L << (y*8 + x);
+       }
+       return attacks;
+   }
+
+   // returns the squares a sliding piece attacks from the square by walking along each line
+   // each line stops at (and includes) the first occupied square
+   // this is only used to build the magic tables
+   private static long slidingAttacks(int square, long occupied, int[][] directions) {
+       long attacks = 0L;
+       int file = square % 8;
+       int rank = square / 8;
+       for (int[] direction : directions) {
+           int x = file + direction[0];
+           int y = rank + direction[1];
+           while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+               long bit = 1L << (y*8 + x);
+               attacks |= bit;
+               if ((occupied & bit) != 0)
+                   break;
+               x += direction[0];
+               y += direction[1];
+           }
+       }
+       return attacks;
+   }
+
+   public static long bishopAttacks(int square, long occupied) {
+       return BISHOP_TABLE[BISHOP_OFFSETS[square]
+               + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+   }
+
+   public static long rookAttacks(int square, long occupied) {
+       return ROOK_TABLE[ROOK_OFFSETS[square]
+               + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+   }
+
+   public static long queenAttacks(int square, long occupied) {
+       return bishopAttacks(square, occupied) | rookAttacks(square, occupied);
+   }
+
+   // returns the squares the piece attacks from the square
+   // pawns need the color because they only attack forwards
+   public static long attacks(int piece, int color, int square, long occupied) {
+       switch (piece) {
+           case Const.PAWN_PIECE:
+               return PAWN_ATTACKS[color][square];
+           case Const.KNIGHT_PIECE:
+               return KNIGHT_ATTACKS[square];
+           case Const.BISHOP_PIECE:
+               return bishopAttacks(square, occupied);
+           case Const.ROOK_PIECE:
+               return rookAttacks(square, occupied);
+           case Const.QUEEN_PIECE:
+               return queenAttacks(square, occupied);
+           case Const.KING_PIECE:
+               return KING_ATTACKS[square];
+       }
+       return 0L;
+   }
+}
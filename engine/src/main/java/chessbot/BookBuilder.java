@@ -0,0 +1,359 @@
+package chessbot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+* This class builds an opening book (see OpeningBook) from PGN files of games.
+* Every move of the first plies of every game is counted, and the count is the move's weight in the book.
+*
+* It works on any number of games without holding them in memory:
+*   1. This thread reads the games and hands them out in batches to worker threads (one for every core).
+*   2. Each worker plays through its games and counts the moves in its own MoveCountMap.
+*      When the map gets full, its counts are written to disk sorted (a "run") and the map starts over.
+*   3. When every game is counted, the runs are merged, adding up the counts of the same move in the same position.
+*      Since every run is sorted, merging them reads each one from start to end once.
+*
+* Running it: BookBuilder [-maxPly n] [-minCount n] [-threads n] book.bin games.pgn [more.pgn ...]
+*/
+public class BookBuilder {
+
+   // how many games a worker is given at a time
+   private static final int BATCH_SIZE = 256;
+
+   private final int maxPly;
+   private final int minCount;
+   private final int threads;
+   private final int mapSlots;
+
+   // statistics about the last build
+   private final AtomicLong games = new AtomicLong();
+   private final AtomicLong moves = new AtomicLong();
+   private final AtomicLong badMoves = new AtomicLong(); // moves that couldn't be read, which end their game early
+   private long entries;
+
+   /**
+    * @param maxPly
+    *      Only the moves of the first maxPly plies of each game are counted
+    * @param minCount
+    *      Moves played fewer times than this are left out of the book
+    * @param threads
+    *      How many worker threads play through the games
+    * @param mapSlots
+    *      How many slots each worker's MoveCountMap has (this is what decides how often runs are written)
+    */
+   public BookBuilder(int maxPly, int minCount, int threads, int mapSlots) {
+       this.maxPly = maxPly;
+       this.minCount = minCount;
+       this.threads = Math.max(threads, 1);
+       this.mapSlots = mapSlots;
+   }
+
+   /**
+    * Builds the book.
+    * @param pgnFiles
+    *      The games, read in order
+    * @param output
+    *      The book file that is written (it is replaced if it is already there)
+    * @throws IOException
+    *      if a file can't be read or written
+    */
+   public void build(List<Path> pgnFiles, Path output) throws IOException, InterruptedException {
+       games.set(0);
+       moves.set(0);
+       badMoves.set(0);
+
+       Path runDirectory = Files.createTempDirectory(output.toAbsolutePath().getParent(), "book-runs");
+       List<Path> runs = Collections.synchronizedList(new ArrayList<>());
+       try {
+           countMoves(pgnFiles, runDirectory, runs);
+           entries = merge(runs, output);
+       } finally {
+           for (Path run : runs)
+               Files.deleteIfExists(run);
+           Files.deleteIfExists(runDirectory);
+       }
+   }
+
+   // reads the games and has the workers count their moves into runs
+   private void countMoves(List<Path> pgnFiles, Path runDirectory, List<Path> runs) throws IOException, InterruptedException {
+       // the queue is small so that reading can't get far ahead of the workers (an empty batch tells a worker to stop)
+       BlockingQueue<List<String>> batches = new ArrayBlockingQueue<>(2 * threads);
+       AtomicReference<Exception> failure = new AtomicReference<>();
+
+       Thread[] workers = new Thread[threads];
+       for (int i = 0; i<threads; i++) {
+           workers[i] = new Thread(() -> {
+               try {
+                   countBatches(batches, runDirectory, runs);
+               } catch (Exception e) {
+                   failure.compareAndSet(null, e);
+                   // keeps taking batches so that the reading thread never waits on a full queue
+                   try {
+                       while (!batches.take().isEmpty());
+                   } catch (InterruptedException ignored) {
+                       Thread.currentThread().interrupt();
+                   }
+               }
+           });
+           workers[i].start();
+       }
+
+       try {
+           List<String> batch = new ArrayList<>(BATCH_SIZE);
+           for (Path file : pgnFiles) {
+               try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+                   PgnReader reader = new PgnReader(in);
+                   for (String game = reader.nextGame(); game != null; game = reader.nextGame()) {
+                       batch.add(game);
+                       if (batch.size() == BATCH_SIZE) {
+                           batches.put(batch);
+                           batch = new ArrayList<>(BATCH_SIZE);
+                       }
+                   }
+               }
+           }
+           if (!batch.isEmpty())
+               batches.put(batch);
+       } finally {
+           for (int i = 0; i<threads; i++)
+               batches.put(Collections.emptyList());
+           for (Thread worker : workers)
+               worker.join();
+       }
+
+       if (failure.get() != null)
+           throw new IOException("counting the moves failed", failure.get());
+   }
+
+   // what each worker thread does: counts the moves of the batches it is given, and writes a run whenever its map is full
+   private void countBatches(BlockingQueue<List<String>> batches, Path runDirectory, List<Path> runs)
+           throws IOException, InterruptedException {
+       MoveCountMap counts = new MoveCountMap(mapSlots);
+       Position p = new Position();
+       int[] buffer = new int[Const.BUFFER_SIZE];
+
+       for (List<String> batch = batches.take(); !batch.isEmpty(); batch = batches.take()) {
+           for (String game : batch)
+               countGame(game, p, counts, buffer, runDirectory, runs);
+       }
+       if (counts.size() > 0)
+           runs.add(writeRun(counts, runDirectory));
+   }
+
+   // plays through the game, counting each move in the position before it (by the position's Polyglot key, see Polyglot)
+   // the map is checked after every move, since a long game could fill a small map by itself
+   private void countGame(String game, Position p, MoveCountMap counts, int[] buffer, Path runDirectory, List<Path> runs)
+           throws IOException {
+       PgnReader.setUp(game, p);
+       List<String> sanMoves = PgnReader.moveTokens(game);
+       int plies = Math.min(sanMoves.size(), maxPly);
+       for (int ply = 0; ply<plies; ply++) {
+           int move = PgnReader.parseSan(p, sanMoves.get(ply), buffer);
+           if (move == 0) {
+               badMoves.incrementAndGet();
+               break;
+           }
+           counts.add(Polyglot.key(p), move, 1);
+           if (counts.isFull())
+               runs.add(writeRun(counts, runDirectory));
+           p.move(p, move);
+           moves.incrementAndGet();
+       }
+       games.incrementAndGet();
+   }
+
+   private static Path writeRun(MoveCountMap counts, Path runDirectory) throws IOException {
+       Path run = Files.createTempFile(runDirectory, "run", ".bin");
+       try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+           counts.writeSorted(out);
+       }
+       return run;
+   }
+
+   /**
+    * Merges the sorted runs into the book.
+    * The smallest entry of all the runs is always at the top of a priority queue of the runs,
+    * so the entries come out in order and the counts of the same move in the same position come out next to each other.
+    * @return
+    *      Returns the number of entries in the book
+    */
+   private long merge(List<Path> runs, Path output) throws IOException {
+       PriorityQueue<Run> queue = new PriorityQueue<>();
+       long written = 0;
+       try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+           for (Path path : runs) {
+               Run run = new Run(path);
+               if (run.next())
+                   queue.add(run);
+               else
+                   run.close();
+           }
+
+           // the moves of the current position, which are written together once the position is done
+           long positionKey = 0;
+           int[] positionMoves = new int[Const.BUFFER_SIZE];
+           int[] positionCounts = new int[Const.BUFFER_SIZE];
+           int moveCount = 0;
+
+           while (!queue.isEmpty()) {
+               Run run = queue.poll();
+               long key = run.key;
+               int move = run.move;
+               int count = run.count;
+               if (run.next())
+                   queue.add(run);
+               else
+                   run.close();
+
+               // the same move in the same position from another run
+               if (moveCount > 0 && key == positionKey && positionMoves[moveCount-1] == move) {
+                   positionCounts[moveCount-1] += count;
+                   continue;
+               }
+               if (moveCount > 0 && key != positionKey) {
+                   written += writePosition(out, positionKey, positionMoves, positionCounts, moveCount);
+                   moveCount = 0;
+               }
+               // two positions with the same key can have more moves between them than a buffer holds
+               if (moveCount == positionMoves.length) {
+                   positionMoves = Arrays.copyOf(positionMoves, 2 * moveCount);
+                   positionCounts = Arrays.copyOf(positionCounts, 2 * moveCount);
+               }
+               positionKey = key;
+               positionMoves[moveCount] = move;
+               positionCounts[moveCount] = count;
+               moveCount++;
+           }
+           if (moveCount > 0)
+               written += writePosition(out, positionKey, positionMoves, positionCounts, moveCount);
+       } finally {
+           for (Run run : queue)
+               run.close();
+       }
+       return written;
+   }
+
+   // writes the book entries of one position, leaving out the moves played fewer than minCount times
+   // weights only have 16 bits, so if a count is too big, every count of the position is scaled down by the same amount
+   private int writePosition(DataOutputStream out, long key, int[] positionMoves, int[] positionCounts, int moveCount)
+           throws IOException {
+       int maxCount = 0;
+       for (int i = 0; i<moveCount; i++)
+           maxCount = Math.max(maxCount, positionCounts[i]);
+       double scale = (maxCount > 0xFFFF) ? (double) 0xFFFF / maxCount : 1.0;
+
+       int written = 0;
+       for (int i = 0; i<moveCount; i++) {
+           if (positionCounts[i] < minCount)
+               continue;
+           out.writeLong(key);
+           out.writeShort(OpeningBook.toBookMove(positionMoves[i]));
+           out.writeShort(Math.max((int) (positionCounts[i] * scale), 1));
+           out.writeInt(0); // learning data
+           written++;
+       }
+       return written;
+   }
+
+   public long getGames() {
+       return games.get();
+   }
+
+   public long getMoves() {
+       return moves.get();
+   }
+
+   public long getBadMoves() {
+       return badMoves.get();
+   }
+
+   public long getEntries() {
+       return entries;
+   }
+
+   // one run being read during the merge, ordered by its current entry
+   private static class Run implements Comparable<Run> {
+       private final DataInputStream in;
+       long key;
+       int move;
+       int count;
+
+       Run(Path path) throws IOException {
+           in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+       }
+
+       // reads the next entry, returns false if there isn't one
+       boolean next() throws IOException {
+           try {
+               key = in.readLong();
+               move = in.readShort() & 0xFFFF;
+               count = in.readInt();
+               return true;
+           } catch (EOFException e) {
+               return false;
+           }
+       }
+
+       void close() throws IOException {
+           in.close();
+       }
+
+       @Override
+       public int compareTo(Run other) {
+           int byKey = Long.compareUnsigned(key, other.key);
+           return (byKey != 0) ? byKey : Integer.compare(move, other.move);
+       }
+   }
+
+   public static void main(String[] args) throws IOException, InterruptedException {
+       int maxPly = Const.BOOK_MAX_PLY;
+       int minCount = Const.BOOK_MIN_COUNT;
+       int threads = Runtime.getRuntime().availableProcessors();
+       int i = 0;
+       for (; i + 1 < args.length && args[i].startsWith("-"); i += 2) {
+           if (args[i].equals("-maxPly"))
+               maxPly = Integer.parseInt(args[i+1]);
+           else if (args[i].equals("-minCount"))
+               minCount = Integer.parseInt(args[i+1]);
+           else if (args[i].equals("-threads"))
+               threads = Integer.parseInt(args[i+1]);
+           else
+               break;
+       }
+       if (args.length - i < 2) {
+           System.out.println("usage: BookBuilder [-maxPly n] [-minCount n] [-threads n] book.bin games.pgn [more.pgn ...]");
+           System.exit(1);
+       }
+
+       Path output = Paths.get(args[i]);
+       List<Path> pgnFiles = new ArrayList<>();
+       for (int j = i + 1; j<args.length; j++)
+           pgnFiles.add(Paths.get(args[j]));
+
+       BookBuilder builder = new BookBuilder(maxPly, minCount, threads, Const.BOOK_MAP_SLOTS);
+       long startTime = System.currentTimeMillis();
+       builder.build(pgnFiles, output);
+       long time = System.currentTimeMillis() - startTime;
+       System.out.println(builder.getGames() + " games, " + builder.getMoves() + " moves ("
+               + builder.getBadMoves() + " unreadable) -> " + builder.getEntries() + " book entries in " + time + " ms");
+   }
+}
@@ -0,0 +1,1050 @@
+package chessbot;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Scanner;
+
+/**
+*  This class deals with determining what move to make in a given position.
+*  Also known as the chess engine.
+*/
+
+public class Computer {
+   private int positionsExamined = 0; //this counts how many positions were examined
+   private int[] map = new int[64]; // this is a temporary buffer threatMap that is used in determining the legal moves in a position
+   private int move; // this variable stores the computer's move after doing the alphaBeta search algorithm
+   private TranspositionTable table; // this remembers the results of positions that were already searched
+   private PawnHashTable pawnTable = new PawnHashTable(Const.PAWN_HASH_SIZE_MB); // this remembers the evaluation of pawn structures
+
+   private int ply; // how many moves deep the search currently is (0 at the root)
+
+   // every ply gets its own move picker, so the search doesn't make new arrays at every position
+   private MovePicker[] movePickers = new MovePicker[Const.MAX_PLY];
+
+   // quiet moves that caused a beta cutoff, which are likely to cause one again in the positions next to it
+   // killers[ply] holds the last two different killer moves found at that ply
+   private int[][] killers = new int[Const.MAX_PLY][2];
+   // how often a quiet move from one square to another caused a beta cutoff, anywhere in the search
+   // deeper cutoffs count more (depth*depth) since they saved more work
+   private int[][] history = new int[64][64];
+
+   // the principal variation (the line of best moves) found below each ply
+   // pvTable[ply] holds the line starting at that ply, and pvLength[ply] is the ply where that line ends
+   private int[][] pvTable = new int[Const.MAX_PLY][Const.MAX_PLY];
+   private int[] pvLength = new int[Const.MAX_PLY];
+
+   // the principal variation of the last completed iteration of iterativeDeepening()
+   // while the search is still following it, its moves are searched first
+   private int[] previousPV = new int[Const.MAX_PLY];
+   private int previousPVLength;
+   private boolean followingPV;
+   private int[] principalVariation = new int[0]; // the principal variation of the last search that finished
+
+   // when the search has to stop (in milliseconds, from System.currentTimeMillis()) and whether it was stopped
+   // stopped is volatile because another thread can stop the search (see stop())
+   private long deadline = Long.MAX_VALUE;
+   private volatile boolean stopped;
+   private int completedDepth; // the depth of the last completed iteration of iterativeDeepening()
+
+   // the selective parts of the search, which can be turned off to compare the search with and without them
+   private boolean nullMovePruning = Const.NULL_MOVE_PRUNING;
+   private boolean lateMoveReductions = Const.LATE_MOVE_REDUCTIONS;
+   private boolean aspirationWindows = Const.ASPIRATION_WINDOWS;
+
+   // how many iterations were searched with an aspiration window, and how many times the score fell outside of it
+   // (below it is a fail low, above it is a fail high, both from the side to move's point of view)
+   // every fail means the iteration is searched again with a wider window
+   private long aspirationSearches;
+   private long aspirationFailLows;
+   private long aspirationFailHighs;
+
+   // the endgame bitbases (see Bitbases), or null if there are none
+   // they are only read, so every computer can share them
+   private Bitbases bitbases;
+   private long bitbaseHits; // how many positions were found in the bitbases instead of being searched
+
+   // creates a computer with its own transposition table of the default size
+   public Computer() {
+       this(new TranspositionTable(Const.TRANSPOSITION_TABLE_SIZE_MB));
+   }
+
+   // creates a computer that uses the given transposition table
+   // the table can be shared by several computers searching at the same time
+   public Computer(TranspositionTable table) {
+       this.table = table;
+       for (int i = 0; i<Const.MAX_PLY; i++)
+           movePickers[i] = new MovePicker(this);
+   }
+
+   public TranspositionTable getTranspositionTable() {
+       return table;
+   }
+
+   public PawnHashTable getPawnHashTable() {
+       return pawnTable;
+   }
+
+   // replaces the pawn hash table with one of a different size
+   public void setPawnHashSize(int sizeMB) {
+       pawnTable = new PawnHashTable(sizeMB);
+   }
+
+   public int getMove() {
+       return move;
+   }
+
+   public Bitbases getBitbases() {
+       return bitbases;
+   }
+
+   // gives the computer endgame bitbases to look positions up in (null for none)
+   public void setBitbases(Bitbases bitbases) {
+       this.bitbases = bitbases;
+   }
+
+   public long getBitbaseHits() {
+       return bitbaseHits;
+   }
+
+   // returns the best line of moves found by the last search that finished, starting with the move from getMove()
+   public int[] getPrincipalVariation() {
+       return principalVariation.clone();
+   }
+
+   public boolean isNullMovePruning() {
+       return nullMovePruning;
+   }
+
+   public void setNullMovePruning(boolean nullMovePruning) {
+       this.nullMovePruning = nullMovePruning;
+   }
+
+   public boolean isLateMoveReductions() {
+       return lateMoveReductions;
+   }
+
+   public void setLateMoveReductions(boolean lateMoveReductions) {
+       this.lateMoveReductions = lateMoveReductions;
+   }
+
+   public boolean isAspirationWindows() {
+       return aspirationWindows;
+   }
+
+   public void setAspirationWindows(boolean aspirationWindows) {
+       this.aspirationWindows = aspirationWindows;
+   }
+
+   public long getAspirationSearches() {
+       return aspirationSearches;
+   }
+
+   public long getAspirationFailLows() {
+       return aspirationFailLows;
+   }
+
+   public long getAspirationFailHighs() {
+       return aspirationFailHighs;
+   }
+
+   // returns how many times an iteration had to be searched again, for every iteration that used an aspiration window
+   public double getAspirationResearchRate() {
+       return aspirationSearches == 0 ? 0.0 : (double) (aspirationFailLows + aspirationFailHighs) / aspirationSearches;
+   }
+
+   public int getPositionsExamined() {
+       return positionsExamined;
+   }
+
+   public int getCompletedDepth() {
+       return completedDepth;
+   }
+
+   /**
+    * Searches the position with iterative deepening:
+    * it searches to a depth of 1, then 2, then 3, and so on until the time runs out.
+    * Each iteration searches the best line of the one before it first, and the transposition table
+    * keeps the results of the earlier iterations, so the shallow iterations cost very little.
+    *
+    * @param p
+    *      This is the position that the computer is to search from.
+    * @param timeLimit
+    *      How many milliseconds the search may take.
+    *      The iteration that is running when the time runs out is thrown away.
+    * @return
+    *      Returns the evaluation from the last completed iteration (the same as alphaBetaA()).
+    *      The move from the last completed iteration is stored and can be gotten with getMove().
+    */
+   public int iterativeDeepening(Position p, long timeLimit) {
+       return iterativeDeepening(p, timeLimit, 1);
+   }
+
+   /**
+    * The same as iterativeDeepening(p, timeLimit), but the first iteration searches to startDepth.
+    * Helper threads in LazySmpSearch start at different depths so that they don't all search the same thing.
+    */
+   public int iterativeDeepening(Position p, long timeLimit, int startDepth) {
+       stopped = false;
+       return iterativeDeepening(p, timeLimit, startDepth, Const.MAX_DEPTH);
+   }
+
+   // the same as iterativeDeepening(p, timeLimit), but with no time limit, stopping after the iteration at the given depth
+   // every search to the same depth does the same work, which is what benchmarks need
+   public int iterativeDeepeningToDepth(Position p, int depth) {
+       stopped = false;
+       return iterativeDeepening(p, Long.MAX_VALUE / 2, 1, depth);
+   }
+
+   /**
+    * The same as iterativeDeepening(p, timeLimit, startDepth), except that a stop() from before the search started isn't forgotten.
+    * LazySmpSearch starts its helper threads with this after calling clearStop(),
+    * because it can stop a helper before the helper's thread has even begun the search.
+    */
+   int iterativeDeepeningUnlessStopped(Position p, long timeLimit, int startDepth) {
+       return iterativeDeepening(p, timeLimit, startDepth, Const.MAX_DEPTH);
+   }
+
+   // the stop flag is only cleared when a search starts (not inside it), so a stop() that comes early still stops the search
+   private int iterativeDeepening(Position p, long timeLimit, int startDepth, int maxDepth) {
+       deadline = System.currentTimeMillis() + timeLimit;
+       completedDepth = 0;
+       previousPVLength = 0;
+       // the killer moves were found in a different position, so they are forgotten, but the history is only aged
+       for (int i = 0; i<Const.MAX_PLY; i++) {
+           killers[i][0] = 0;
+           killers[i][1] = 0;
+       }
+       ageHistory();
+
+       int bestMove = 0;
+       int evaluation = 0;
+       int score = 0; // the score of the last iteration for the side to move
+       for (int depth = startDepth; depth <= maxDepth; depth++) {
+           score = aspirationSearch(p, depth, score, depth > startDepth);
+           if (stopped)
+               break;
+           int eval = sideToMove(p) * score;
+
+           evaluation = eval;
+           bestMove = move;
+           completedDepth = depth;
+           previousPVLength = pvLength[0];
+           System.arraycopy(pvTable[0], 0, previousPV, 0, previousPVLength);
+
+           if (System.currentTimeMillis() >= deadline)
+               break;
+       }
+
+       deadline = Long.MAX_VALUE;
+       move = bestMove;
+       return evaluation;
+   }
+
+   /**
+    * Searches the root with an aspiration window: a narrow window around the score of the last iteration.
+    * The score usually changes little from one iteration to the next, and a narrow window gives many more cutoffs.
+    * If the score falls outside of the window, it is only a bound, so the root is searched again with the window
+    * widened on that side, a bit more every time, until the score lands inside it.
+    *
+    * @param previousScore
+    *      The score of the last iteration for the side to move
+    * @param hasPreviousScore
+    *      Whether there was a last iteration. Without one, the full window is used.
+    * @return
+    *      Returns the score for the side to move (the same as principalVariationSearch() with a full window).
+    */
+   private int aspirationSearch(Position p, int depth, int previousScore, boolean hasPreviousScore) {
+       // mate scores change by a lot between iterations, so they are searched with the full window
+       if (!aspirationWindows || !hasPreviousScore || depth < Const.ASPIRATION_MIN_DEPTH
+               || Math.abs(previousScore) >= Const.MATE_THRESHOLD) {
+           followingPV = true;
+           return principalVariationSearch(p, depth, Const.NEGATIVE_INFINITY, Const.POSITIVE_INFINITY, true);
+       }
+
+       aspirationSearches++;
+       int delta = Const.ASPIRATION_WINDOW;
+       int alpha = Math.max(previousScore - delta, Const.NEGATIVE_INFINITY);
+       int beta = Math.min(previousScore + delta, Const.POSITIVE_INFINITY);
+       while (true) {
+           followingPV = true;
+           int score = principalVariationSearch(p, depth, alpha, beta, true);
+           if (stopped)
+               return score;
+
+           delta += delta / 2;
+           if (score <= alpha) {
+               // the move that was best so far may be much worse, so beta comes down too
+               aspirationFailLows++;
+               beta = (alpha + beta) / 2;
+               alpha = Math.max(score - delta, Const.NEGATIVE_INFINITY);
+           }
+           else if (score >= beta) {
+               aspirationFailHighs++;
+               beta = Math.min(score + delta, Const.POSITIVE_INFINITY);
+           }
+           else
+               return score;
+       }
+   }
+
+   // stops the search that is running (it can be called from another thread)
+   // iterativeDeepening() then returns the result of the last completed iteration
+   public void stop() {
+       stopped = true;
+   }
+
+   // lets the next search run (see iterativeDeepeningUnlessStopped())
+   void clearStop() {
+       stopped = false;
+   }
+
+   /**
+    * This is the search algorithm in determining what move to play in a certain position.
+    * It uses ideas from minimax and alpha-beta pruning to find the move
+    * The search itself is done by principalVariationSearch(), which scores positions for the side to move,
+    * so this turns the window and the score around when black is to move.
+    *
+    * @param p
+    *      This is the position that the computer is to search from.
+    * @param depth
+    *      This is how many plies ("moves") deep the algorithm will search.
+    * @param alpha
+    *      This is the alpha value. It is assigned as negative infinity, and it increases in value.
+    *      Its purpose is to indicate when it is pointless to continue searching a certain branch
+    *      as the minimizing player.
+    * @param beta
+    *      This is the beta value. It is assigned positive infinity, and it decreases in value.
+    *      Its purpose is to indicate when it is pointless to continue searching a certain branch
+    *      as the maximizing player.
+    * @param maximizingPlayer
+    *      This tells the computer whether it's trying to maximize its score (play for white),
+    *      or whether it is trying to minimize its score (play for black).
+    * @return
+    *      Returns the evaluation of the position in centipawns (100 is worth one pawn).
+    *      A positive score means the computer thinks white is ahead.
+    *      A negative score means the computer things black is ahead.
+    *      An equal score means the computer thinks the position is equal.
+    *      Scores past +/- Const.MATE_THRESHOLD mean there's a forced mate: the score is Const.MATE_SCORE minus how many plies away it is.
+    *      The best move is stored and can be gotten with getMove(), and the whole line with getPrincipalVariation().
+    */
+   public int alphaBetaA(Position p, int depth, int alpha, int beta, boolean maximizingPlayer) {
+       if (maximizingPlayer)
+           return principalVariationSearch(p, depth, alpha, beta, true);
+       return -principalVariationSearch(p, depth, -beta, -alpha, true);
+   }
+
+   /**
+    * Principal variation search in negamax form: every score is from the point of view of the side to move,
+    * so a position is worth the negative of the best position the opponent can reach from it.
+    *
+    * Since the moves are ordered, the first move is usually the best one. It is searched with the full window,
+    * and every move after it is searched with a null window (alpha, alpha + NULL_WINDOW), which only proves that the move is no better.
+    * That is much cheaper than a full search, and only when a move turns out to be better is it searched again with the full window.
+    *
+    * @param p
+    *      This is the position that is being searched.
+    * @param depth
+    *      This is how many plies ("moves") deep the algorithm will search.
+    * @param alpha
+    *      The score the side to move is already sure of getting.
+    * @param beta
+    *      The score the opponent is already sure of holding the side to move to.
+    * @param allowNullMove
+    *      Whether a null move may be tried here. It isn't allowed right after another null move.
+    * @return
+    *      Returns the evaluation of the position for the side to move.
+    *      Scores of alpha or less and beta or more are only bounds on the real evaluation.
+    */
+   private int principalVariationSearch(Position p, int depth, int alpha, int beta, boolean allowNullMove) {
+       // the arrays indexed by ply (pvLength, pvTable[ply+1], movePickers, killers) only go up to MAX_PLY,
+       // so a line that long (e.g. a long chain of checks in quiescence) just stops with the static evaluation
+       if (ply >= Const.MAX_PLY - 1)
+           return sideToMove(p) * staticEvaluation(p);
+
+       this.positionsExamined++;
+       pvLength[ply] = ply;
+
+       // every so often, checks if the time is up
+       // the first iteration is always finished so that there is a move to play
+       if ((positionsExamined & 2047) == 0 && completedDepth > 0 && System.currentTimeMillis() >= deadline)
+           stopped = true;
+       if (stopped)
+           return 0;
+
+       // is a draw if the 50-move rule is surpassed
+       // the rule is that 50-moves happen in a row where no pawn moves nor captures occur, someone can claim a draw
+       // Technically, players can keep playing if both agree, but here, I just assume that someone will claim a draw
+       // The number is 100 because the halfmove clock increases every ply, and 50 "moves" is equal to 100 "plies"
+       // (unless the last move was checkmate)
+       // this is checked before the transposition table, so that a score stored from before the 100th ply can't hide the draw,
+       // but it isn't done at the root, which always has to find a move to play
+       if (ply != 0 && p.getHalfMoveClock() >= 100)
+           return (p.isInCheck() && !p.hasLegalMoves()) ? matedScore() : 0;
+
+       // a position that already happened (in the game or earlier in the search) is a draw, so nothing below it is searched
+       // one repetition is enough: if repeating the position was good, the side to move could just keep repeating it
+       if (ply != 0 && p.isRepetition())
+           return 0;
+
+       // a position with few enough pieces is looked up in the bitbases, which know whether it is won, drawn, or lost
+       // this is only done right after a capture or a pawn move, because that's when the search enters a new endgame:
+       // once the search is inside a won endgame, every position would look equally won and nothing would make progress,
+       // so from there it searches normally (and only looks up the next capture or pawn move)
+       if (bitbases != null && ply != 0 && p.getHalfMoveClock() == 0 && !p.hasCastlingRights()) {
+           int result = bitbases.probe(p);
+           if (result != Const.BITBASE_UNKNOWN) {
+               bitbaseHits++;
+               // a win that is reached sooner, or with a better evaluation, is worth more
+               if (result == Const.BITBASE_WIN)
+                   return Const.KNOWN_WIN + sideToMove(p) * staticEvaluation(p) - ply;
+               if (result == Const.BITBASE_LOSS)
+                   return -Const.KNOWN_WIN + sideToMove(p) * staticEvaluation(p) + ply;
+               return 0;
+           }
+       }
+
+       // looks the position up in the transposition table
+       // if it was already searched deep enough, its score can be used (or at least narrow the window) without searching it again
+       // this isn't done at the root because the root has to find a move
+       long key = p.getZobristKey();
+       long entry = table.probe(key);
+       int tableMove = 0;
+       if (entry != 0) {
+           tableMove = TranspositionTable.getMove(entry);
+           if (ply != 0 && TranspositionTable.getDepth(entry) >= depth) {
+               int score = scoreFromTable(TranspositionTable.getScore(entry));
+               int bound = TranspositionTable.getBound(entry);
+               if (bound == Const.EXACT_BOUND)
+                   return score;
+               if (bound == Const.LOWER_BOUND)
+                   alpha = Math.max(alpha, score);
+               else if (bound == Const.UPPER_BOUND)
+                   beta = Math.min(beta, score);
+               if (alpha >= beta)
+                   return score;
+           }
+       }
+
+       // if the end of the depth is reached, keep searching captures until the position is quiet
+       // then the static evaluation can be trusted
+       if (depth == 0)
+           return quiescence(p, alpha, beta);
+
+       int alphaOriginal = alpha;
+       int color = p.getTurn();
+       boolean inCheck = p.isInCheck();
+       // nodes with a full window are on the principal variation, only null window nodes are pruned or reduced
+       boolean isPVNode = beta - alpha > Const.NULL_WINDOW;
+       boolean onPV = followingPV && ply < previousPVLength;
+
+       // null move pruning: if the side to move passes and a shallower search still fails high, a real move would almost surely fail high too
+       // it is skipped when the side to move only has pawns, because then passing could be better than every move (zugzwang)
+       if (nullMovePruning && allowNullMove && !isPVNode && !inCheck && ply != 0
+               && depth >= Const.NULL_MOVE_MIN_DEPTH && p.hasNonPawnMaterial(color) && beta < Const.MATE_THRESHOLD) {
+           int reduction = (depth > 6) ? Const.NULL_MOVE_REDUCTION + 1 : Const.NULL_MOVE_REDUCTION;
+           int nullDepth = Math.max(depth - 1 - reduction, 0);
+
+           followingPV = false;
+           UndoInfo undo = p.makeNullMove();
+           ply++;
+           int eval = -principalVariationSearch(p, nullDepth, -beta, -beta+Const.NULL_WINDOW, false);
+           ply--;
+           p.unmakeNullMove(undo);
+           if (stopped)
+               return 0;
+
+           if (eval >= beta) {
+               // deep null move cutoffs are checked with a normal search (without null moves) to the same depth
+               // this catches zugzwang positions that still have pieces
+               if (depth >= Const.NULL_MOVE_VERIFICATION_DEPTH)
+                   eval = principalVariationSearch(p, nullDepth, beta-Const.NULL_WINDOW, beta, false);
+               // a mate found after passing isn't a real mate, so only beta is returned
+               if (eval >= beta)
+                   return (eval >= Const.MATE_THRESHOLD) ? beta : eval;
+           }
+       }
+
+       // the best move from the transposition table is searched first
+       // unless the search is still on the last iteration's principal variation, then that move is searched first
+       MovePicker moves = movePickers[ply];
+       moves.reset(p, onPV ? previousPV[ply] : 0, tableMove, true);
+
+       int value = Const.NEGATIVE_INFINITY;
+       int bestMove = 0;
+       for (int i = 0, move = moves.next(); move != 0; i++, move = moves.next()) {
+
+           // late move reductions: quiet moves far down the list are rarely the best, so they are searched less deep first
+           // killer moves, checks, and captures are never reduced, and neither is anything when the side to move is in check
+           int reduction = 0;
+           if (lateMoveReductions && !inCheck && depth >= Const.LMR_MIN_DEPTH
+                   && i >= Const.LMR_MIN_MOVES && moves.getLastScore() < Const.KILLER_MOVE - 1)
+               reduction = (i >= 2*Const.LMR_MIN_MOVES && depth >= 6) ? 2 : 1;
+
+           followingPV = onPV && i == 0 && move == previousPV[ply];
+           UndoInfo undo = p.makeMove(move);
+           ply++;
+           int eval;
+           if (i == 0)
+               eval = -principalVariationSearch(p, depth-1, -beta, -alpha, true);
+           else {
+               // null window search, then a full search if the move might be better after all
+               eval = -principalVariationSearch(p, depth-1-reduction, -alpha-Const.NULL_WINDOW, -alpha, true);
+               // a reduced move that looks better is searched again at the full depth before it is trusted
+               if (eval > alpha && reduction > 0)
+                   eval = -principalVariationSearch(p, depth-1, -alpha-Const.NULL_WINDOW, -alpha, true);
+               if (eval > alpha && eval < beta)
+                   eval = -principalVariationSearch(p, depth-1, -beta, -alpha, true);
+           }
+           ply--;
+           p.unmakeMove(move, undo);
+           if (stopped)
+               return 0;
+
+           if (eval > value || bestMove == 0) {
+               value = eval;
+               bestMove = move;
+               updatePV(move);
+           }
+           alpha = Math.max(alpha, value);
+           if (alpha >= beta) {
+               storeCutoff(p, move, depth);
+               break;
+           }
+       }
+
+       // if there are no legal moves, it's checkmate or stalemate
+       if (bestMove == 0)
+           return inCheck ? matedScore() : 0;
+
+       if (ply == 0) {
+           this.move = bestMove;
+           principalVariation = Arrays.copyOf(pvTable[0], pvLength[0]);
+       }
+
+       // a score outside of the window is only a bound on the real value of the position
+       int bound;
+       if (value <= alphaOriginal)
+           bound = Const.UPPER_BOUND;
+       else if (value >= beta)
+           bound = Const.LOWER_BOUND;
+       else
+           bound = Const.EXACT_BOUND;
+       table.store(key, bestMove, depth, bound, scoreToTable(value));
+
+       return value;
+   }
+
+   /**
+    * This is the search done at the end of the principal variation search (the horizon).
+    * Evaluating a position in the middle of a trade gives a wrong score (e.g. a queen just took a pawn but is about to be taken back),
+    * so this only searches captures until there are none left that are worth making.
+    * If the side to move is in check, every move is searched instead, because it has to get out of check.
+    *
+    * @param p
+    *      This is the position that is being searched.
+    * @param alpha
+    *      Same as principalVariationSearch()
+    * @param beta
+    *      Same as principalVariationSearch()
+    * @return
+    *      Returns the evaluation of the position for the side to move (the same as principalVariationSearch()).
+    */
+   public int quiescence(Position p, int alpha, int beta) {
+       // the same limit as in principalVariationSearch()
+       if (ply >= Const.MAX_PLY - 1)
+           return sideToMove(p) * staticEvaluation(p);
+
+       this.positionsExamined++;
+       pvLength[ply] = ply;
+
+       if ((positionsExamined & 2047) == 0 && completedDepth > 0 && System.currentTimeMillis() >= deadline)
+           stopped = true;
+       if (stopped)
+           return 0;
+
+       boolean inCheck = p.isInCheck();
+
+       // the side to move doesn't have to capture, so the static evaluation is the least it can get ("standing pat")
+       // this isn't true when it is in check
+       int standPat = 0;
+       int value;
+       if (inCheck)
+           value = Const.NEGATIVE_INFINITY;
+       else {
+           standPat = sideToMove(p) * staticEvaluation(p);
+           value = standPat;
+           if (standPat >= beta)
+               return standPat;
+           alpha = Math.max(alpha, standPat);
+       }
+
+       // only the captures (including enpassant) and promotions are searched, unless the side to move is in check
+       // a stalemate isn't noticed here, since only the captures are generated
+       MovePicker moves = movePickers[ply];
+       moves.reset(p, 0, 0, inCheck);
+
+       boolean anyMoves = false;
+       for (int move = moves.next(); move != 0; move = moves.next()) {
+           anyMoves = true;
+
+           // promoting to anything but a queen is only worth it in rare positions that the main search can find
+           boolean isPromotion = Move.isPromotion(move);
+           if (!inCheck && isPromotion && Move.getPromotionPiece(move) != Const.QUEEN_PIECE)
+               continue;
+
+           // delta pruning: if winning the material of the move (plus a margin) still can't reach alpha, the move isn't searched
+           if (!inCheck && standPat + materialGain(p, move) + Const.DELTA_MARGIN < alpha)
+               continue;
+
+           UndoInfo undo = p.makeMove(move);
+           ply++;
+           int eval = -quiescence(p, -beta, -alpha);
+           ply--;
+           p.unmakeMove(move, undo);
+           if (stopped)
+               return 0;
+
+           value = Math.max(value, eval);
+           if (value >= beta)
+               break;
+           alpha = Math.max(alpha, value);
+       }
+
+       // every move is generated in check, so having none is checkmate
+       if (inCheck && !anyMoves)
+           return matedScore();
+       return value;
+   }
+
+   // returns how much material a move wins: the captured piece, plus what a promoted pawn turns into
+   // an enpassant capture ends on an empty square, but it still takes a pawn
+   private int materialGain(Position p, int move) {
+       int gain = Move.isEnPassant(move) ? Const.PAWN_VALUE : getPieceValue(p.getPiece(Move.getEnd(move)));
+       if (Move.isPromotion(move))
+           gain += getPieceValue(Move.getPromotionPiece(move)) - Const.PAWN_VALUE;
+       return gain;
+   }
+
+   // the score for the side to move when it is checkmated at the current ply
+   // mates that are closer to the root score further from 0, so the search goes for the quickest mate and puts off being mated
+   private int matedScore() {
+       return -Const.MATE_SCORE + ply;
+   }
+
+   // mate scores count plies from the root, but the transposition table can be read at a different ply than it was written at
+   // so mate scores are stored as the distance from the stored position instead, and turned back when they are read
+   private int scoreToTable(int score) {
+       if (score >= Const.MATE_THRESHOLD)
+           return score + ply;
+       if (score <= -Const.MATE_THRESHOLD)
+           return score - ply;
+       return score;
+   }
+
+   private int scoreFromTable(int score) {
+       if (score >= Const.MATE_THRESHOLD)
+           return score - ply;
+       if (score <= -Const.MATE_THRESHOLD)
+           return score + ply;
+       return score;
+   }
+
+   // returns 1 if white is to move and -1 if black is to move
+   // multiplying a white-relative score (like staticEvaluation()) by this gives the score for the side to move
+   private static int sideToMove(Position p) {
+       return (p.getTurn() == Const.WHITE) ? 1 : -1;
+   }
+
+   // remembers a quiet move that caused a beta cutoff as a killer move at this ply and in the history table
+   // captures and promotions are left out because they are already ordered first
+   private void storeCutoff(Position p, int move, int depth) {
+       int start = Move.getStart(move);
+       int end = Move.getEnd(move);
+       if (p.getPiece(end) != Const.EMPTY || Move.isEnPassant(move) || Move.isPromotion(move))
+           return;
+
+       if (killers[ply][0] != move) {
+           killers[ply][1] = killers[ply][0];
+           killers[ply][0] = move;
+       }
+
+       history[start][end] += depth*depth;
+       if (history[start][end] > Const.HISTORY_LIMIT)
+           ageHistory();
+   }
+
+   // forgets the killer moves and the history, so that the next search orders its moves as if it were the first
+   // (e.g. benchmarks use this so that every search does the same work)
+   public void clearMoveOrdering() {
+       for (int i = 0; i<Const.MAX_PLY; i++) {
+           killers[i][0] = 0;
+           killers[i][1] = 0;
+       }
+       for (int start = 0; start<64; start++)
+           for (int end = 0; end<64; end++)
+               history[start][end] = 0;
+   }
+
+   // halves every history score
+   // this is done before every search so that what was learned in earlier positions counts less than what is learned in this one
+   // it is also done when a history score gets too big, which keeps the scores in the range the move list can hold
+   private void ageHistory() {
+       for (int start = 0; start<64; start++)
+           for (int end = 0; end<64; end++)
+               history[start][end] /= 2;
+   }
+
+   // makes the move the start of the principal variation at this ply, followed by the line found below it
+   private void updatePV(int move) {
+       pvTable[ply][ply] = move;
+       System.arraycopy(pvTable[ply+1], ply+1, pvTable[ply], ply+1, pvLength[ply+1] - (ply+1));
+       pvLength[ply] = pvLength[ply+1];
+   }
+
+   /**
+    * This function scores the moves so that more promising moves are evaluated first
+    * Sets moves that are checks and captures first
+    * Sets moves that are just checks second
+    * Sets moves that are just captures third
+    * Sets quiet moves last, starting with the killer moves and then the moves with the best history scores
+    * Captures are ordered by MVV-LVA (most valuable victim, least valuable attacker):
+    * taking a queen with a pawn comes before taking a queen with a rook, which comes before taking a pawn with anything.
+    *
+    * @param p
+    *      The position that is being branched.
+    * @param legalMoves
+    *      These are the legal moves in the given position.
+    * @param moves
+    *      The move list that the scored moves are put in (anything already in it is cleared).
+    * @return
+    *      Returns the move list. Its next() method gives the moves from most to least promising.
+    */
+   public MoveList orderMoves(Position p, int[] legalMoves, MoveList moves) {
+       moves.clear();
+       for (int i = 0; i<Const.BUFFER_SIZE && legalMoves[i] != 0; i++) {
+           int move = legalMoves[i];
+           int start = Move.getStart(move);
+           int end = Move.getEnd(move);
+
+           int attacker = p.getPiece(start);
+           int victim = p.getPiece(end);
+           // enpassant takes a pawn even though the ending square is empty
+           if (Move.isEnPassant(move))
+               victim = Const.PAWN_PIECE;
+           boolean isCapture = victim != Const.EMPTY;
+           boolean isCheck = p.givesCheck(move);
+
+           // promoting to a queen is ordered like winning a queen on top of whatever is captured
+           // the other promotions are rarely better, so they go after every other capture
+           if (Move.isPromotion(move)) {
+               if (Move.getPromotionPiece(move) != Const.QUEEN_PIECE) {
+                   moves.add(move, Const.QUIET_MOVE);
+                   continue;
+               }
+               victim += Const.QUEEN_PIECE;
+               isCapture = true;
+           }
+
+           //note: the pieces are numbered from pawn (1) to king (6), so a more valuable victim always outweighs a less valuable attacker
+           // quiet moves that caused cutoffs before go first: the killer moves of this ply, then by history score
+           int score;
+           if (!isCheck && !isCapture) {
+               if (move == killers[ply][0])
+                   score = Const.KILLER_MOVE;
+               else if (move == killers[ply][1])
+                   score = Const.KILLER_MOVE - 1;
+               else
+                   score = Const.QUIET_MOVE + history[start][end];
+           }
+           else if (isCheck && !isCapture)
+               score = Const.CHECK_MOVE;
+           else if (!isCheck)
+               score = Const.CAPTURE_MOVE + 10*victim - attacker;
+           else
+               score = Const.CHECK_AND_CAPTURE_MOVE + 10*victim - attacker;
+           moves.add(move, score);
+       }
+       return moves;
+   }
+
+   // turns a score from alphaBetaA() into text, e.g. "+0.35" or "mate in 3" (or "mated in 3" when black is mating)
+   public static String scoreToString(int score) {
+       if (Math.abs(score) >= Const.MATE_THRESHOLD) {
+           int moves = (Const.MATE_SCORE - Math.abs(score) + 1) / 2;
+           return (score > 0 ? "mate in " : "mated in ") + moves;
+       }
+       return String.format(Locale.US, "%+.2f", score / 100.0);
+   }
+
+   // this function determines if the game is over
+   // it is over when the side to move has no legal moves, or when the same position happened three times
+   public boolean isGameOver(Position p) {
+       return !p.hasLegalMoves() || p.countRepetitions() >= 2;
+   }
+
+   // this function determines the result of a given position
+   // is only called if the game is over
+   public void endingSequence(Position p) {
+       int result = status(p);
+       if (result > 0)
+           System.out.println("White is victorious");
+       else if (result < 0)
+           System.out.println("Black is victorious");
+       else
+           System.out.println("It's a draw");
+   }
+
+   /**
+    * this function returns an array of bytes (size 8) that will be sent to the robotic arm via it's I/O box
+    *      the command will look something like this
+    *      {5,2,5,4,0,0,0,0}
+    *      the first byte represents the x coordinate of the start square (in this example, 5 is the e column)
+    *      the second byte represents the y coordinate of the start square (in this example, 2 is row 2
+    *      the third byte represents the x coordinate of the end square (in this example, 5 is the e column)
+    *      the fourth byte represent the y coordinate of the end square (in this example, 4 is row 4)
+    *      the fifth byte represents the "special move"
+    *          0 means it is a normal move
+    *          1 means it is a capture
+    *          2 means it is a casting move
+    *          3 means it is en passant
+    *      the sixth byte represents if the move is a promotion
+    *          0 means no promotion
+    *          1 means promotion
+    *      the seventh byte represents if the starting piece is tall
+    *          0 for short piece
+    *          1 for tall piece
+    *          (this is required so that the arm gripper doesn't crash into tall piece or come up short on grabbing short pieces)
+    *      the eighth byte represents if the ending/captured piece is tall
+    *          0 for short piece
+    *          1 for tall piece
+    *          (this is the same idea as the seventh byte, but for pieces that are getting captured)
+    *
+    *      note: the position is supposed to be in the position before the move is made
+    */
+
+   public byte[] determineArduinoCommand(Position p, int move) {
+       byte[] command = new byte[8];
+
+       //these are the variables, in order, that will be a part of the command
+       int startX;
+       int startY;
+       int endX;
+       int endY;
+       int specialMove;
+       int isPromotion;
+       int isTall;
+       int isCaptureTall;
+
+
+       int start = Move.getStart(move);
+       int end = Move.getEnd(move);
+
+       // converts the indexes into coordinates
+       startX = (start % 8) + 1; // e.g. (16 % 8) + 1 = 0 + 1 = 1 which is the a-file
+       startY = (start / 8) + 1; // e.g. (16 / 8) + 1 = 2 + 1 = 3 which is the 3rd rank
+       endX = (end % 8) + 1;
+       endY = (end / 8) + 1;
+
+       Pieces[] board = p.getBoard();
+       int startPiece = board[start].piece;
+       int endPiece = board[end].piece;
+
+       // determines the special move
+       // enpassant and castling are marked in the move itself
+       if (Move.isEnPassant(move))
+           specialMove = Const.ENPASSANT_COMMAND;
+       else if (Move.isCastling(move))
+           specialMove = Const.CASTLING_COMMAND;
+           // if the ending square contains a piece, the move is a capture
+       else if (endPiece != Const.EMPTY)
+           specialMove = Const.CAPTURE_COMMAND;
+       else
+           specialMove = Const.NORMAL_MOVE_COMMAND;
+
+       // determines if move is a promotion
+       // note: the command only says whether the move is a promotion, not which piece the pawn becomes
+       if (Move.isPromotion(move))
+           isPromotion = Const.TRUE_COMMAND;
+       else isPromotion = Const.FALSE_COMMAND;
+
+       // determines if the piece being moved is tall
+       if (startPiece == Const.QUEEN_PIECE || startPiece == Const.KING_PIECE)
+           isTall = Const.TRUE_COMMAND;
+       else isTall = Const.FALSE_COMMAND;
+
+       // determines if the piece being captured (if it is) is tall
+       if (endPiece == Const.QUEEN_PIECE) //we don't need to check the king because capturing the king is an illegal move
+           isCaptureTall = Const.TRUE_COMMAND;
+       else isCaptureTall = Const.FALSE_COMMAND;
+
+       command[0] = (byte) startX;
+       command[1] = (byte) startY;
+       command[2] = (byte) endX;
+       command[3] = (byte) endY;
+       command[4] = (byte) specialMove;
+       command[5] = (byte) isPromotion;
+       command[6] = (byte) isTall;
+       command[7] = (byte) isCaptureTall;
+       return command;
+   }
+
+   // this function should only be called when the game is over (see isGameOver())
+   // returns whether white won (Const.MATE_SCORE), black won (-Const.MATE_SCORE), or is a draw (0)
+   public int status(Position p) {
+       // if there are still legal moves, the game ended by threefold repetition
+       if (p.hasLegalMoves())
+           return 0;
+
+       int turnColor = p.getTurn();
+       int attackingColor;
+       if (turnColor == Const.WHITE)
+           attackingColor = Const.BLACK;
+       else attackingColor = Const.WHITE;
+
+       int c; // coefficient that will determine whether white or black won (won't matter if it is stalemate)
+       if (attackingColor == Const.BLACK)
+           c = -1;
+       else c = 1;
+
+       int[] map = new int[64];
+
+       int[] threatMap = p.threatMap(p,attackingColor,map);
+       // if the king of the player who is supposed to move is under direct attack, it's checkmate
+       if (threatMap[p.getKingSquare(turnColor)] == Const.DIRECT_ATTACK)
+           return c * Const.MATE_SCORE;
+       // if the king isn't under direct attack, it's a stalemate.
+       return 0;
+   }
+
+   // This function evaluates the position statically
+   // The evaluation considers how many piece each side has,
+   // and the position of those pieces according based on the piece-square tables
+   // Both are kept up to date by the position as pieces move, so this doesn't have to look at every square
+   // The piece-square score slides from the middlegame tables to the endgame tables as the pieces come off of the board (tapered evaluation),
+   // e.g. the king goes from staying safe in the corner to walking to the center little by little instead of all at once
+   // The pawn structure is added in the same way, and is usually found in the pawn hash table
+   // The passed pawns saved with it are looked at again here, since how far the kings are from them depends on more than the pawns
+   public int staticEvaluation(Position p) {
+       int entry = pawnTable.probe(p.getPawnKey());
+       if (entry < 0)
+           entry = evaluatePawns(p);
+
+       int middlegame = p.getMiddlegameScore() + pawnTable.getMiddlegameScore(entry);
+       int endgame = p.getEndgameScore() + pawnTable.getEndgameScore(entry) + evaluatePassedPawnKings(p, entry);
+       int phase = Math.min(p.getPhase(), Const.TOTAL_PHASE);
+       return p.getMaterial() + (middlegame * phase + endgame * (Const.TOTAL_PHASE - phase)) / Const.TOTAL_PHASE;
+   }
+
+   /**
+    * Evaluates the pawn structure (doubled, isolated, and passed pawns) and stores it in the pawn hash table.
+    * Only the pawns are looked at, so the result is the same for every position with these pawns.
+    *
+    * @return
+    *      Returns the index of the pawn hash table entry it was stored in.
+    */
+   private int evaluatePawns(Position p) {
+       int middlegame = 0;
+       int endgame = 0;
+       long whitePassedPawns = 0L;
+       long blackPassedPawns = 0L;
+
+       for (int color = Const.WHITE; color <= Const.BLACK; color++) {
+           int c = (color == Const.WHITE) ? 1 : -1;
+           int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+           long pawns = p.getBitboard(Const.PAWN_PIECE, color);
+           long enemyPawns = p.getBitboard(Const.PAWN_PIECE, opponent);
+
+           for (int file = 0; file<8; file++) {
+               int count = Long.bitCount(pawns & Bitboards.FILES[file]);
+               if (count > 1) {
+                   middlegame += c * Const.DOUBLED_PAWN_MIDDLEGAME * (count-1);
+                   endgame += c * Const.DOUBLED_PAWN_ENDGAME * (count-1);
+               }
+           }
+
+           long remaining = pawns;
+           while (remaining != 0) {
+               int square = Long.numberOfTrailingZeros(remaining);
+               remaining &= remaining - 1;
+
+               if ((pawns & Bitboards.ADJACENT_FILES[square % 8]) == 0) {
+                   middlegame += c * Const.ISOLATED_PAWN_MIDDLEGAME;
+                   endgame += c * Const.ISOLATED_PAWN_ENDGAME;
+               }
+               if ((enemyPawns & Bitboards.PASSED_PAWN_MASKS[color][square]) == 0) {
+                   if (color == Const.WHITE)
+                       whitePassedPawns |= 1L << square;
+                   else blackPassedPawns |= 1L << square;
+                   int rank = (color == Const.WHITE) ? square / 8 : 7 - square / 8;
+                   middlegame += c * Const.PASSED_PAWN_MIDDLEGAME[rank];
+                   endgame += c * Const.PASSED_PAWN_ENDGAME[rank];
+               }
+           }
+       }
+       return pawnTable.store(p.getPawnKey(), middlegame, endgame, whitePassedPawns, blackPassedPawns);
+   }
+
+   /**
+    * Scores how close the kings are to the passed pawns (an endgame term, since it only matters once the pieces are traded).
+    * A passed pawn is worth more when its own king is nearer to the square in front of it than the enemy king is,
+    * and the further up the board the pawn is, the more that counts.
+    *
+    * @param entry
+    *      The pawn hash table entry of the position, which has its passed pawns
+    * @return
+    *      Returns the endgame score from white's side
+    */
+   private int evaluatePassedPawnKings(Position p, int entry) {
+       int endgame = 0;
+       for (int color = Const.WHITE; color <= Const.BLACK; color++) {
+           long passedPawns = pawnTable.getPassedPawns(entry, color);
+           if (passedPawns == 0)
+               continue;
+           int c = (color == Const.WHITE) ? 1 : -1;
+           int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+           int king = p.getKingSquare(color);
+           int enemyKing = p.getKingSquare(opponent);
+
+           while (passedPawns != 0) {
+               int square = Long.numberOfTrailingZeros(passedPawns);
+               passedPawns &= passedPawns - 1;
+
+               // a pawn can't be on the last rank, so the square in front of it is always on the board
+               int front = (color == Const.WHITE) ? square + 8 : square - 8;
+               int rank = (color == Const.WHITE) ? square / 8 : 7 - square / 8;
+               endgame += c * Const.PASSED_PAWN_KING_DISTANCE[rank] * (distance(enemyKing, front) - distance(king, front));
+           }
+       }
+       return endgame;
+   }
+
+   // returns how many king moves it takes to get from one square to the other
+   private static int distance(int from, int to) {
+       return Math.max(Math.abs(from / 8 - to / 8), Math.abs(from % 8 - to % 8));
+   }
+
+   public int getPieceValue(Pieces piece) {
+       return getPieceValue(piece.piece);
+   }
+
+   public int getPieceValue(int piece) {
+
+       switch (piece) {
+           case Const.EMPTY:
+               return 0;
+           case Const.PAWN_PIECE:
+               return Const.PAWN_VALUE;
+           case Const.KNIGHT_PIECE:
+               return Const.KNIGHT_VALUE;
+           case Const.BISHOP_PIECE:
+               return Const.BISHOP_VALUE;
+           case Const.ROOK_PIECE:
+               return Const.ROOK_VALUE;
+           case Const.QUEEN_PIECE:
+               return Const.QUEEN_VALUE;
+           case Const.KING_PIECE:
+               return Const.KING_VALUE;
+       }
+       return Const.ERROR;
+   }
+}
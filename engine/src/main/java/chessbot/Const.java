@@ -0,0 +1,375 @@
+package chessbot;
+
+/**
+* This class holds all of this project's constant values
+*/
+public class Const {
+
+   // error value
+   public static final int ERROR = -1;
+
+   // these are the values for the commands to send to the Arduino UNO
+   // also found on the code for the Arduino Uno
+   public static final int NORMAL_MOVE_COMMAND = 0;
+   public static final int CAPTURE_COMMAND = 1;
+   public static final int CASTLING_COMMAND = 2;
+   public static final int ENPASSANT_COMMAND = 3;
+   public static final int TRUE_COMMAND = 1;
+   public static final int FALSE_COMMAND = 0;
+
+   // size of buffers such as the move list array
+   // no position has more than 218 legal moves, so every move fits
+   public static final int BUFFER_SIZE = 256;
+
+   // how many milliseconds the computer may think about each move (used with iterative deepening)
+   public static final long TIME_LIMIT = 5000;
+
+   // the deepest that iterative deepening will search, even if there is time left
+   public static final int MAX_DEPTH = 64;
+
+   // how many threads search at the same time (see LazySmpSearch)
+   public static final int SEARCH_THREADS = Runtime.getRuntime().availableProcessors();
+
+   // the most plies that can be made with makeMove() before they are taken back
+   // this is the size of the undo stack in Position
+   public static final int MAX_PLY = 128;
+
+   // the opening book the arm plays from while it is in book (see OpeningBook)
+   // the arm searches every move itself if the file isn't there
+   public static final String BOOK_FILE = "book.bin";
+
+   // defaults for building an opening book from games (see BookBuilder)
+   // only the first BOOK_MAX_PLY plies of each game go in the book, and only moves played at least BOOK_MIN_COUNT times
+   // each thread counts moves in a table of BOOK_MAP_SLOTS slots (16 bytes each) before writing them out to disk
+   public static final int BOOK_MAX_PLY = 30;
+   public static final int BOOK_MIN_COUNT = 1;
+   public static final int BOOK_MAP_SLOTS = 1 << 20;
+
+   // the endgame bitbases (see Bitbases), which are made by BitbaseGenerator into this directory
+   // the search looks positions with at most BITBASE_PIECES pieces (kings included) up in them
+   public static final String BITBASE_DIRECTORY = "bitbases";
+   public static final int BITBASE_PIECES = 4;
+
+   // what a bitbase says about a position, for the side to move (these are the 2-bit values in the files)
+   // illegal positions are never looked up, unknown means the position isn't in any bitbase
+   public static final int BITBASE_DRAW = 0;
+   public static final int BITBASE_WIN = 1;
+   public static final int BITBASE_LOSS = 2;
+   public static final int BITBASE_ILLEGAL = 3;
+   public static final int BITBASE_UNKNOWN = -1;
+
+
+   public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+   // values that represent the pieces
+   public static final int EMPTY = 0;
+   public static final int PAWN_PIECE = 1;
+   public static final int KNIGHT_PIECE = 2;
+   public static final int BISHOP_PIECE = 3;
+   public static final int ROOK_PIECE = 4;
+   public static final int QUEEN_PIECE = 5;
+   public static final int KING_PIECE = 6;
+
+   // values that represent the color
+   public static final int NO_COLOR = 0;
+   public static final int WHITE = 1;
+   public static final int BLACK = 2;
+
+   // characters that represent the pieces
+   public static final char EMPTY_SYMBOL = '-';
+   public static final char PAWN_SYMBOL = 'p';
+   public static final char KNIGHT_SYMBOL = 'n';
+   public static final char BISHOP_SYMBOL = 'b';
+   public static final char ROOK_SYMBOL = 'r';
+   public static final char QUEEN_SYMBOL = 'q';
+   public static final char KING_SYMBOL = 'k';
+
+   // constants used with the threat map
+   public static final int NO_ATTACK = 0;
+   public static final int DIRECT_ATTACK = 1;
+   public static final int DISCOVERED_ATTACK = 2;
+
+   // the special kinds of moves (see Move)
+   // castling and enpassant moves are marked so that making them doesn't have to work out what kind of move they are
+   public static final int NORMAL_FLAG = 0;
+   public static final int PROMOTION_FLAG = 1;
+   public static final int EN_PASSANT_FLAG = 2;
+   public static final int CASTLING_FLAG = 3;
+
+   // which moves Position.generateMoves() makes
+   // captures include enpassant and every promotion, quiets include castling
+   public static final int GENERATE_CAPTURES = 1;
+   public static final int GENERATE_QUIETS = 2;
+   public static final int GENERATE_ALL = GENERATE_CAPTURES | GENERATE_QUIETS;
+
+   //constants used in evaluating static positions
+   // these values were taken from this article
+   // https://www.chessprogramming.org/Simplified_Evaluation_Function
+   public static final int PAWN_VALUE = 100;
+   public static final int KNIGHT_VALUE = 320;
+   public static final int BISHOP_VALUE = 330;
+   public static final int ROOK_VALUE = 500;
+   public static final int QUEEN_VALUE = 900;
+   public static final int KING_VALUE = 20000;
+
+   //constants used in ordering moves
+   //captures (and checks that capture) get the MVV-LVA score of the capture added on top
+   //quiet moves get their history score added on top, which never goes over HISTORY_LIMIT
+   //the scores are stored in 16 bits of a MoveList entry, so they have to stay below 32768
+   public static final int QUIET_MOVE = 1;
+   public static final int HISTORY_LIMIT = 16000;
+   public static final int KILLER_MOVE = 19000; // the second killer move gets one less
+   public static final int CAPTURE_MOVE = 20000;
+   public static final int CHECK_MOVE = 25000;
+   public static final int CHECK_AND_CAPTURE_MOVE = 25000;
+   public static final int TABLE_MOVE = 30000; // the best move stored in the transposition table
+   public static final int PV_MOVE = 30001; // the move on the principal variation of the last iteration
+
+   // how wide the window of a null window search is in the principal variation search
+   // scores are whole centipawns, so with a window of 1 the search can only fail high or fail low
+   public static final int NULL_WINDOW = 1;
+
+   // the score of checkmate for the side that gives it
+   // a mate that is n plies away from the root is worth MATE_SCORE - n, so quicker mates are worth more
+   public static final int MATE_SCORE = 30000;
+   // scores past this are mates (no mate can be further away than the search can go)
+   public static final int MATE_THRESHOLD = MATE_SCORE - MAX_PLY;
+   // the score of a position that the bitbases say is won, which is less than any mate but more than any evaluation
+   public static final int KNOWN_WIN = 10000;
+
+   // whether the search uses null move pruning, late move reductions, and aspiration windows (each Computer can turn them on or off)
+   public static final boolean NULL_MOVE_PRUNING = true;
+   public static final boolean LATE_MOVE_REDUCTIONS = true;
+   public static final boolean ASPIRATION_WINDOWS = true;
+   // the root is searched with a window this many centipawns on each side of the last iteration's score
+   // the iterations before ASPIRATION_MIN_DEPTH use the full window, since their scores still jump around a lot
+   public static final int ASPIRATION_WINDOW = 25;
+   public static final int ASPIRATION_MIN_DEPTH = 4;
+   // the null move is searched this many plies less deep (one more when the depth is over 6)
+   public static final int NULL_MOVE_REDUCTION = 2;
+   // the least depth where a null move is tried, and the least depth where a null move cutoff is checked with a normal search
+   public static final int NULL_MOVE_MIN_DEPTH = 3;
+   public static final int NULL_MOVE_VERIFICATION_DEPTH = 6;
+   // the least depth where moves are reduced, and how many moves are searched at full depth before any are reduced
+   public static final int LMR_MIN_DEPTH = 3;
+   public static final int LMR_MIN_MOVES = 3;
+
+   // default size of the transposition table in megabytes
+   public static final int TRANSPOSITION_TABLE_SIZE_MB = 64;
+
+   // default size of each computer's pawn hash table in megabytes
+   public static final int PAWN_HASH_SIZE_MB = 1;
+
+   // what kind of score is stored in a transposition table entry
+   // exact scores are the real value of the position
+   // lower bounds mean the real value is at least the score (the search was cut off by beta)
+   // upper bounds mean the real value is at most the score (no move got above alpha)
+   public static final int EXACT_BOUND = 0;
+   public static final int LOWER_BOUND = 1;
+   public static final int UPPER_BOUND = 2;
+
+   // used in the quiescence search
+   // a capture is skipped if winning the captured piece plus this much still wouldn't be enough to matter
+   public static final int DELTA_MARGIN = 200;
+
+   // pawn structure terms of the evaluation, for the middlegame and the endgame
+   // doubled pawns count for every pawn on a file after the first one
+   public static final int DOUBLED_PAWN_MIDDLEGAME = -10;
+   public static final int DOUBLED_PAWN_ENDGAME = -20;
+   // isolated pawns have no pawns of the same color on the files next to them
+   public static final int ISOLATED_PAWN_MIDDLEGAME = -10;
+   public static final int ISOLATED_PAWN_ENDGAME = -15;
+   // passed pawns have no enemy pawns in front of them on their own file or the files next to them
+   // indexed by how many ranks the pawn has moved up from its side of the board (1 is its starting rank)
+   public static final int[] PASSED_PAWN_MIDDLEGAME = {0, 5, 10, 15, 25, 40, 60, 0};
+   public static final int[] PASSED_PAWN_ENDGAME = {0, 10, 20, 35, 55, 80, 110, 0};
+   // in the endgame, a passed pawn also gets this much for every square its own king is nearer to the square in front of it than the enemy king
+   // (and loses it for every square the enemy king is nearer), indexed by rank in the same way
+   public static final int[] PASSED_PAWN_KING_DISTANCE = {0, 0, 1, 2, 3, 5, 7, 0};
+
+   // how much each piece counts towards the game phase
+   // the phase is TOTAL_PHASE with all the pieces on the board (the middlegame) and goes down to 0 as they are traded (the endgame)
+   // pawns and kings don't count
+   public static final int KNIGHT_PHASE = 1;
+   public static final int BISHOP_PHASE = 1;
+   public static final int ROOK_PHASE = 2;
+   public static final int QUEEN_PHASE = 4;
+   public static final int TOTAL_PHASE = 24;
+
+   // these are the arbitrarily large numbers used in evaluating the position
+   // every score, including mates, is between them
+   public static final int NEGATIVE_INFINITY = -32000;
+   public static final int POSITIVE_INFINITY = 32000;
+
+   // piece-square tables that are based on the tables found at https://www.chessprogramming.org/Simplified_Evaluation_Function
+   //These tables are for White
+   //To make them for black, reverse the order of the for loop (63 to 0)
+   public static final int[] PAWN_TABLE =
+
+           // These arrays are reflected over x-axis (flipped vertically) compared to a regular board orientation.
+           // this is done so that the array is compatible with the index form of the board
+           //top left represents a1, top right represents h1, bottom left represents a8, bottom right reps h8
+           {
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   5, 10, 10,-20,-20, 10, 10,  5,
+                   5, -5,-10,  0,  0,-10, -5,  5,
+                   0,  0,  0, 20, 20,  0,  0,  0,
+                   5,  5, 10, 25, 25,  10, 5,  5,
+                   10, 10, 20, 30, 30, 20, 10, 10,
+                   50, 50, 50, 50, 50, 50, 50, 50,
+                   0,  0,  0,  0,  0,  0,  0,  0
+           };
+
+   public static final int[] KNIGHT_TABLE =
+           {
+                   -50,-40,-30,-30,-30,-30,-40,-50,
+                   -40,-20,  0,  5,  5,  0,-20,-40,
+                   -30,  5, 10, 15, 15, 10,  5,-30,
+                   -30,  0, 15, 20, 20, 15,  0,-30,
+                   -30,  5, 15, 20, 20, 15,  5,-30,
+                   -30,  0, 10, 15, 15, 10,  0,-30,
+                   -40,-20,  0,  0,  0,  0,-20,-40,
+                   -50,-40,-30,-30,-30,-30,-40,-50
+           };
+
+   public static final int[] BISHOP_TABLE =
+           {
+                   -20,-10,-10,-10,-10,-10,-10,-20,
+                   -10,  5,  0,  0,  0,  0,  5,-10,
+                   -10, 10, 10, 10, 10, 10, 10,-10,
+                   -10,  0, 10, 10, 10, 10,  0,-10,
+                   -10,  5,  5, 10, 10,  5,  5,-10,
+                   -10,  0,  5, 10, 10,  5,  0,-10,
+                   -10,  0,  0,  0,  0,  0,  0,-10,
+                   -20,-10,-10,-10,-10,-10,-10,-20
+           };
+
+   public static final int[] ROOK_TABLE =
+           {
+                   0,  0,  0,  5,  5,  0,  0,  0,
+                   -5, 0,  0,  0,  0,  0,  0, -5,
+                   -5, 0,  0,  0,  0,  0,  0, -5,
+                   -5, 0,  0,  0,  0,  0,  0, -5,
+                   -5, 0,  0,  0,  0,  0,  0, -5,
+                   -5, 0,  0,  0,  0,  0,  0, -5,
+                   5, 10, 10, 10, 10, 10, 10,  5,
+                   0,  0,  0,  0,  0,  0,  0,  0
+           };
+
+
+   public static final int[] WHITE_QUEEN_TABLE =
+           {
+                   -20,-10,-10, -5, -5,-10,-10,-20,
+                   -10,  0,  5,  0,  0,  0,  0,-10,
+                   -10,  5,  5,  5,  5,  5,  0,-10,
+                     0,  0,  5,  5,  5,  5,  0, -5,
+                    -5,  0,  5,  5,  5,  5,  0, -5,
+                   -10,  0,  5,  5,  5,  5,  0,-10,
+                   -10,  0,  0,  0,  0,  0,  0,-10,
+                   -20,-10,-10, -5, -5,-10,-10,-20
+           };
+
+   // This table is different from WHITE_QUEEN_TABLE[] in that the squares c7 and b6 are promoted rather than c2 and b3
+   // This will be read backwards, so the extra valued squares changed from indexes (10 and 17) to (20 and 29)
+   public static final int[] BLACK_QUEEN_TABLE =
+           {
+                   -20,-10,-10, -5, -5,-10,-10,-20,
+                   -10,  0,  0,  0,  0,  5,  0,-10,
+                   -10,  0,  5,  5,  5,  5,  5,-10,
+                     0,  0,  5,  5,  5,  5,  0, -5,
+                    -5,  0,  5,  5,  5,  5,  0, -5,
+                   -10,  0,  5,  5,  5,  5,  0,-10,
+                   -10,  0,  0,  0,  0,  0,  0,-10,
+                   -20,-10,-10, -5, -5,-10,-10,-20
+           };
+
+   //this table is used for positions early in the game because it's better to have a safe king at the start of the game
+   public static final int[] KING_MIDDLEGAME_TABLE =
+           {
+                    20, 30, 10,  0,  0, 10, 30, 20,
+                    20, 20,  0,  0,  0,  0, 20, 20,
+                   -10,-20,-20,-20,-20,-20,-20,-10,
+                   -20,-30,-30,-40,-40,-30,-30,-20,
+                   -30,-40,-40,-50,-50,-40,-40,-30,
+                   -30,-40,-40,-50,-50,-40,-40,-30,
+                   -30,-40,-40,-50,-50,-40,-40,-30,
+                   -30,-40,-40,-50,-50,-40,-40,-30
+           };
+
+   // this table is used for positions later in the game, because you want an active king during the endgame
+   public static final int[] KING_ENDGAME_TABLE =
+           {
+                   -50,-30,-30,-30,-30,-30,-30,-50,
+                   -30,-30,  0,  0,  0,  0,-30,-30,
+                   -30,-10, 20, 30, 30, 20,-10,-30,
+                   -30,-10, 30, 40, 40, 30,-10,-30,
+                   -30,-10, 30, 40, 40, 30,-10,-30,
+                   -30,-10, 20, 30, 30, 20,-10,-30,
+                   -30,-20,-10,  0,  0,-10,-20,-30,
+                   -50,-40,-30,-20,-20,-30,-40,-50
+           };
+
+   // the endgame versions of the tables above
+   // the piece-square score is a mix of the middlegame and endgame tables that moves towards the endgame as pieces get traded off
+   // in the endgame, pawns get much better as they advance, and the pieces are simply better in the center
+   public static final int[] PAWN_ENDGAME_TABLE =
+           {
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   5,  5,  5,  5,  5,  5,  5,  5,
+                   10, 10, 10, 10, 10, 10, 10, 10,
+                   20, 20, 20, 20, 20, 20, 20, 20,
+                   35, 35, 35, 35, 35, 35, 35, 35,
+                   60, 60, 60, 60, 60, 60, 60, 60,
+                   0,  0,  0,  0,  0,  0,  0,  0
+           };
+
+   public static final int[] KNIGHT_ENDGAME_TABLE =
+           {
+                   -40,-30,-20,-20,-20,-20,-30,-40,
+                   -30,-20, -5,  0,  0, -5,-20,-30,
+                   -20, -5,  5, 10, 10,  5, -5,-20,
+                   -20,  0, 10, 15, 15, 10,  0,-20,
+                   -20,  0, 10, 15, 15, 10,  0,-20,
+                   -20, -5,  5, 10, 10,  5, -5,-20,
+                   -30,-20, -5,  0,  0, -5,-20,-30,
+                   -40,-30,-20,-20,-20,-20,-30,-40
+           };
+
+   public static final int[] BISHOP_ENDGAME_TABLE =
+           {
+                   -15,-10,-10,-10,-10,-10,-10,-15,
+                   -10,  0,  0,  0,  0,  0,  0,-10,
+                   -10,  0,  5,  5,  5,  5,  0,-10,
+                   -10,  0,  5, 10, 10,  5,  0,-10,
+                   -10,  0,  5, 10, 10,  5,  0,-10,
+                   -10,  0,  5,  5,  5,  5,  0,-10,
+                   -10,  0,  0,  0,  0,  0,  0,-10,
+                   -15,-10,-10,-10,-10,-10,-10,-15
+           };
+
+   public static final int[] ROOK_ENDGAME_TABLE =
+           {
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   0,  0,  0,  0,  0,  0,  0,  0,
+                   5,  5,  5,  5,  5,  5,  5,  5,
+                   0,  0,  0,  0,  0,  0,  0,  0
+           };
+
+   // the endgame queen table is the same for both colors
+   public static final int[] QUEEN_ENDGAME_TABLE =
+           {
+                   -20,-10,-10, -5, -5,-10,-10,-20,
+                   -10,  0,  0,  0,  0,  0,  0,-10,
+                   -10,  0,  5,  5,  5,  5,  0,-10,
+                    -5,  0,  5, 10, 10,  5,  0, -5,
+                    -5,  0,  5, 10, 10,  5,  0, -5,
+                   -10,  0,  5,  5,  5,  5,  0,-10,
+                   -10,  0,  0,  0,  0,  0,  0,-10,
+                   -20,-10,-10, -5, -5,-10,-10,-20
+           };
+}
@@ -1,3 +1,5 @@
+package chessbot;
+
 import java.util.Arrays;
 
 /**
@@ -37,7 +39,7 @@ public class DecodeMove {
            }
            if (start == -1 || end == -1) //if either one of the values doesn't update, return an error
                return Const.ERROR;
-           return start*100 + end; //return the move in the 4-digit format
+           return Move.make(start, end); //return the move in the 16-bit format (see Move)
        }
 
        if (count == 1) { // move was a capture (one square turned off, one square remains on)
@@ -51,7 +53,7 @@ public class DecodeMove {
                    break;
                }
            }
-           return start*100 + end; //return the move in the 4-digit format
+           return Move.make(start, end); //return the move in the 16-bit format
        }
 
        if (count==3) { //move was enpassant (two squares turned off, one square turned on)
@@ -120,7 +122,7 @@ public class DecodeMove {
            if (color != Const.WHITE && color != Const.BLACK) // if we are evaluating an empty square
                return Const.ERROR;
 
-           return start*100 + end; //return move in 4-digit format
+           return Move.make(start, end, Const.EN_PASSANT_FLAG); //return move in 16-bit format, marked as enpassant
        }
 
        if (count >= 4) { // if is castling (two squares turn on, two squares turn off)
@@ -153,7 +155,7 @@ public class DecodeMove {
            } else
                return Const.ERROR;
 
-           return start*100 + end; //return move in 4-digit format
+           return Move.make(start, end, Const.CASTLING_FLAG); //return move in 16-bit format, marked as castling
        }
        return Const.ERROR; //return an error if a move couldn't be determined
    }
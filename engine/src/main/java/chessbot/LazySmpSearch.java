@@ -0,0 +1,152 @@
+package chessbot;
+
+/**
+* This class searches a position with several threads at the same time ("Lazy SMP").
+* Every thread runs its own Computer on its own copy of the position, so nothing in the search is shared
+* except the transposition table. The threads help each other by filling in the table:
+* a helper thread that already searched a position saves the main thread from searching it.
+* Half of the helper threads start one depth deeper than the main thread so that they get ahead of it.
+* Only the main thread's move and evaluation are used.
+*/
+public class LazySmpSearch {
+
+   private final TranspositionTable table;
+   private final Computer[] computers; // computers[0] is the main thread's computer
+
+   private long nodes; // the number of positions examined by all the threads in the last search
+   private long searchTime; // how long the last search took in milliseconds
+
+   // creates a search with the given number of threads and a transposition table of the default size
+   public LazySmpSearch(int threads) {
+       this(threads, new TranspositionTable(Const.TRANSPOSITION_TABLE_SIZE_MB));
+   }
+
+   // creates a search with the given number of threads that share the given transposition table
+   public LazySmpSearch(int threads, TranspositionTable table) {
+       this.table = table;
+       computers = new Computer[Math.max(threads, 1)];
+       for (int i = 0; i<computers.length; i++)
+           computers[i] = new Computer(table);
+   }
+
+   /**
+    * Searches the position with every thread until the time runs out.
+    *
+    * @param p
+    *      This is the position that the computer is to search from. It is not changed.
+    * @param timeLimit
+    *      How many milliseconds the search may take.
+    * @return
+    *      Returns the main thread's evaluation (the same as Computer.iterativeDeepening()).
+    *      The main thread's move can be gotten with getMove().
+    */
+   public int search(Position p, long timeLimit) {
+       long startTime = System.currentTimeMillis();
+       long[] startNodes = new long[computers.length];
+       for (int i = 0; i<computers.length; i++)
+           startNodes[i] = computers[i].getPositionsExamined();
+
+       // starts the helper threads, each with its own copy of the position
+       // the helpers' stop flags are cleared here rather than in their threads: otherwise a helper whose thread starts late
+       // would clear the stop() it was already sent and search until its own deadline, and join() would wait for it
+       // the copies keep the keys of the game's last reversible moves, so every thread sees the repetitions of the game
+       Thread[] helpers = new Thread[computers.length - 1];
+       for (int i = 0; i<helpers.length; i++) {
+           Computer helper = computers[i+1];
+           Position copy = new Position(p);
+           int startDepth = 1 + (i % 2);
+           helper.clearStop();
+           helpers[i] = new Thread(() -> helper.iterativeDeepeningUnlessStopped(copy, timeLimit, startDepth));
+           helpers[i].setDaemon(true);
+           helpers[i].start();
+       }
+
+       // the main thread searches on this thread, and then stops the helpers
+       int evaluation = computers[0].iterativeDeepening(new Position(p), timeLimit);
+       for (int i = 0; i<helpers.length; i++)
+           computers[i+1].stop();
+       for (int i = 0; i<helpers.length; i++) {
+           try {
+               helpers[i].join();
+           } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+           }
+       }
+
+       searchTime = System.currentTimeMillis() - startTime;
+       nodes = 0;
+       for (int i = 0; i<computers.length; i++)
+           nodes += computers[i].getPositionsExamined() - startNodes[i];
+       return evaluation;
+   }
+
+   // returns the main thread's move from the last search
+   public int getMove() {
+       return computers[0].getMove();
+   }
+
+   // turns null move pruning on or off for every thread
+   public void setNullMovePruning(boolean nullMovePruning) {
+       for (Computer computer : computers)
+           computer.setNullMovePruning(nullMovePruning);
+   }
+
+   // turns late move reductions on or off for every thread
+   public void setLateMoveReductions(boolean lateMoveReductions) {
+       for (Computer computer : computers)
+           computer.setLateMoveReductions(lateMoveReductions);
+   }
+
+   // turns aspiration windows on or off for every thread
+   public void setAspirationWindows(boolean aspirationWindows) {
+       for (Computer computer : computers)
+           computer.setAspirationWindows(aspirationWindows);
+   }
+
+   // gives every thread the endgame bitbases (they are only read, so the threads share them)
+   public void setBitbases(Bitbases bitbases) {
+       for (Computer computer : computers)
+           computer.setBitbases(bitbases);
+   }
+
+   // returns how many positions all the threads found in the bitbases
+   public long getBitbaseHits() {
+       long hits = 0;
+       for (Computer computer : computers)
+           hits += computer.getBitbaseHits();
+       return hits;
+   }
+
+   // returns the main thread's principal variation from the last search
+   public int[] getPrincipalVariation() {
+       return computers[0].getPrincipalVariation();
+   }
+
+   // returns the depth that the main thread completed in the last search
+   public int getCompletedDepth() {
+       return computers[0].getCompletedDepth();
+   }
+
+   // returns the main thread's computer (for things like determineArduinoCommand() and isGameOver())
+   public Computer getComputer() {
+       return computers[0];
+   }
+
+   public TranspositionTable getTranspositionTable() {
+       return table;
+   }
+
+   public int getThreads() {
+       return computers.length;
+   }
+
+   // returns the number of positions examined by all the threads in the last search
+   public long getNodes() {
+       return nodes;
+   }
+
+   // returns how many positions all the threads examined per second in the last search
+   public long getNodesPerSecond() {
+       return searchTime == 0 ? 0 : nodes * 1000 / searchTime;
+   }
+}
@@ -1,3 +1,5 @@
+package chessbot;
+
 public class Main {
 
    public static void main(String[] args){
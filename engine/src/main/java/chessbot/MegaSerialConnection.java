@@ -1,3 +1,5 @@
+package chessbot;
+
 import com.fazecast.jSerialComm.SerialPort;
 
 
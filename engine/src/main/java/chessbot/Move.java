@@ -0,0 +1,60 @@
+package chessbot;
+
+/**
+* This class packs a move into 16 bits and reads it back.
+*   bits 0-5   the start square
+*   bits 6-11  the end square
+*   bits 12-13 the piece a pawn is promoted to (0 is a knight, up to 3 for a queen)
+*   bits 14-15 the kind of move (Const.NORMAL_FLAG, Const.PROMOTION_FLAG, Const.EN_PASSANT_FLAG, or Const.CASTLING_FLAG)
+* Reading a square is a shift and a mask instead of a division.
+* No legal move goes from a1 to a1, so 0 can mean "no move".
+*/
+public class Move {
+
+   private static final int END_SHIFT = 6;
+   private static final int PROMOTION_SHIFT = 12;
+   private static final int FLAG_SHIFT = 14;
+
+   public static int make(int start, int end) {
+       return start | (end << END_SHIFT);
+   }
+
+   public static int make(int start, int end, int flag) {
+       return start | (end << END_SHIFT) | (flag << FLAG_SHIFT);
+   }
+
+   // a pawn move to the last rank that turns the pawn into the piece (a knight, bishop, rook, or queen)
+   public static int makePromotion(int start, int end, int piece) {
+       return start | (end << END_SHIFT) | ((piece - Const.KNIGHT_PIECE) << PROMOTION_SHIFT)
+               | (Const.PROMOTION_FLAG << FLAG_SHIFT);
+   }
+
+   public static int getStart(int move) {
+       return move & 0x3F;
+   }
+
+   public static int getEnd(int move) {
+       return (move >>> END_SHIFT) & 0x3F;
+   }
+
+   public static int getFlag(int move) {
+       return (move >>> FLAG_SHIFT) & 0x3;
+   }
+
+   // returns the piece a promotion turns the pawn into (only meaningful if the move is a promotion)
+   public static int getPromotionPiece(int move) {
+       return ((move >>> PROMOTION_SHIFT) & 0x3) + Const.KNIGHT_PIECE;
+   }
+
+   public static boolean isPromotion(int move) {
+       return getFlag(move) == Const.PROMOTION_FLAG;
+   }
+
+   public static boolean isEnPassant(int move) {
+       return getFlag(move) == Const.EN_PASSANT_FLAG;
+   }
+
+   public static boolean isCastling(int move) {
+       return getFlag(move) == Const.CASTLING_FLAG;
+   }
+}
@@ -0,0 +1,150 @@
+package chessbot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+* This class counts how many times each move was played in each position (see BookBuilder).
+* The key of an entry is the Polyglot key of the position (see Polyglot) together with the move.
+*
+* It is a hash table with open addressing (linear probing) over plain arrays, so counting doesn't make objects:
+* a HashMap would box every key and make an entry object for every position and move it holds.
+* When the table gets full, its entries are written out sorted and the table starts over empty.
+*/
+public class MoveCountMap {
+
+   // slot i holds keys[i], moves[i], and counts[i]
+   // no legal move is 0, so a slot with a move of 0 is empty
+   private final long[] keys;
+   private final int[] moves;
+   private final int[] counts;
+
+   private final int mask; // the number of slots minus one (the number of slots is a power of two)
+   private final int limit; // the table counts as full at this many entries, since probing gets slow when it is nearly full
+   private int size;
+
+   /**
+    * @param slots
+    *      How many slots the table has. It is rounded down to a power of two.
+    *      Every slot takes 16 bytes.
+    */
+   public MoveCountMap(int slots) {
+       int count = Integer.highestOneBit(Math.max(slots, 16));
+       keys = new long[count];
+       moves = new int[count];
+       counts = new int[count];
+       mask = count - 1;
+       limit = count / 4 * 3;
+   }
+
+   // adds to the count of the move in the position
+   public void add(long key, int move, int count) {
+       int i = index(key, move);
+       while (moves[i] != 0) {
+           if (keys[i] == key && moves[i] == move) {
+               counts[i] += count;
+               return;
+           }
+           i = (i + 1) & mask;
+       }
+       keys[i] = key;
+       moves[i] = move;
+       counts[i] = count;
+       size++;
+   }
+
+   // mixes the key and the move so that the moves of one position don't all land next to each other
+   private int index(long key, int move) {
+       long hash = (key ^ (move * 0x9E3779B97F4A7C15L)) * 0xBF58476D1CE4E5B9L;
+       return (int) (hash >>> 32) & mask;
+   }
+
+   public int size() {
+       return size;
+   }
+
+   public boolean isFull() {
+       return size >= limit;
+   }
+
+   /**
+    * Writes every entry sorted by key (compared unsigned, like a Polyglot book) and then by move, and empties the table.
+    * Each entry is written as the key (8 bytes), the move (2 bytes), and the count (4 bytes).
+    */
+   public void writeSorted(DataOutputStream out) throws IOException {
+       // moves the entries to the front of the arrays (this breaks the hash table, but it is emptied afterwards)
+       int n = 0;
+       for (int i = 0; i<moves.length; i++) {
+           if (moves[i] != 0) {
+               keys[n] = keys[i];
+               moves[n] = moves[i];
+               counts[n] = counts[i];
+               n++;
+           }
+       }
+       sort(0, n - 1);
+
+       for (int i = 0; i<n; i++) {
+           out.writeLong(keys[i]);
+           out.writeShort(moves[i]);
+           out.writeInt(counts[i]);
+       }
+
+       Arrays.fill(moves, 0);
+       size = 0;
+   }
+
+   // quicksort of the entries from low to high (both included)
+   // the smaller side is sorted by recursion and the bigger side by the loop, so the recursion is never deep
+   private void sort(int low, int high) {
+       while (high - low > 16) {
+           // the median of the first, middle, and last entries is the pivot, which is put at high
+           int middle = (low + high) >>> 1;
+           if (compare(middle, low) < 0)
+               swap(middle, low);
+           if (compare(high, low) < 0)
+               swap(high, low);
+           if (compare(middle, high) < 0)
+               swap(middle, high);
+
+           int store = low;
+           for (int i = low; i<high; i++) {
+               if (compare(i, high) < 0)
+                   swap(i, store++);
+           }
+           swap(store, high);
+
+           if (store - low < high - store) {
+               sort(low, store - 1);
+               low = store + 1;
+           }
+           else {
+               sort(store + 1, high);
+               high = store - 1;
+           }
+       }
+
+       // insertion sort for the small ranges that are left
+       for (int i = low + 1; i <= high; i++)
+           for (int j = i; j > low && compare(j, j - 1) < 0; j--)
+               swap(j, j - 1);
+   }
+
+   private int compare(int a, int b) {
+       int byKey = Long.compareUnsigned(keys[a], keys[b]);
+       return (byKey != 0) ? byKey : Integer.compare(moves[a], moves[b]);
+   }
+
+   private void swap(int a, int b) {
+       long key = keys[a];
+       keys[a] = keys[b];
+       keys[b] = key;
+       int move = moves[a];
+       moves[a] = moves[b];
+       moves[b] = move;
+       int count = counts[a];
+       counts[a] = counts[b];
+       counts[b] = count;
+   }
+}
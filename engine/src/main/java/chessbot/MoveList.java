@@ -0,0 +1,79 @@
+package chessbot;
+
+/**
+* This class is a list of moves where every move has a score for how promising it is.
+* The computer keeps one list for every ply, so no arrays have to be made while it searches.
+*
+* Every entry packs the score and the move into one int: the score goes in the top 16 bits and the move in the bottom 16 bits.
+* This way, comparing two entries compares their scores.
+* The list is never sorted all at once. next() looks for the best move that is left every time it is called,
+* so when a move causes a cutoff, the moves behind it are never sorted.
+*/
+public class MoveList {
+   private final int[] entries = new int[Const.BUFFER_SIZE];
+   private int size;
+   private int next; // the index of the move that next() looks at first
+
+   // empties the list
+   public void clear() {
+       size = 0;
+       next = 0;
+   }
+
+   // adds a move with the given score
+   // the score has to fit in 16 bits (-32768 to 32767)
+   public void add(int move, int score) {
+       entries[size] = (score << 16) | move;
+       size++;
+   }
+
+   public int size() {
+       return size;
+   }
+
+   public int getMove(int index) {
+       return entries[index] & 0xFFFF;
+   }
+
+   public int getScore(int index) {
+       return entries[index] >> 16;
+   }
+
+   // returns the score of the move that next() returned last
+   public int getLastScore() {
+       return entries[next-1] >> 16;
+   }
+
+   // changes the score of the move, nothing happens if the move isn't in the list
+   public void setScore(int move, int score) {
+       if (move == 0)
+           return;
+       for (int i = next; i<size; i++) {
+           if ((entries[i] & 0xFFFF) == move) {
+               entries[i] = (score << 16) | move;
+               return;
+           }
+       }
+   }
+
+   /**
+    * Picks the move with the highest score out of the moves that haven't been picked yet (selection sort, one step at a time).
+    *
+    * @return
+    *      Returns the next best move, or 0 when every move has been picked.
+    */
+   public int next() {
+       if (next >= size)
+           return 0;
+       int best = next;
+       for (int i = next+1; i<size; i++) {
+           if (entries[i] > entries[best])
+               best = i;
+       }
+       int entry = entries[best];
+       entries[best] = entries[next];
+       entries[next] = entry;
+       next++;
+       return entry & 0xFFFF;
+   }
+}
@@ -0,0 +1,115 @@
+package chessbot;
+
+/**
+* This class gives the search the moves of a position one at a time, in stages.
+* First come the hash moves (the move on the last principal variation and the move stored in the transposition table),
+* then the captures and promotions, then the quiet moves.
+* A stage is only generated once the stage before it has run out, so when a hash move or a capture causes a cutoff,
+* the rest of the moves are never generated or scored.
+*/
+public class MovePicker {
+
+   // the stages, in the order they are gone through
+   private static final int HASH_MOVES = 0;
+   private static final int CAPTURES = 1;
+   private static final int QUIETS = 2;
+   private static final int DONE = 3;
+
+   private final Computer computer; // scores the moves (it has the killer moves and the history)
+   private final int[] buffer = new int[Const.BUFFER_SIZE];
+   private final MoveList moves = new MoveList();
+
+   private Position p;
+   private int stage;
+   private boolean quiets; // whether the quiet moves come after the captures
+
+   // the legal hash moves and their ordering scores, and how many of them were given out already
+   private final int[] hashMoves = new int[2];
+   private final int[] hashScores = new int[2];
+   private int hashCount;
+   private int hashIndex;
+
+   private int lastScore; // the ordering score of the move next() returned last
+
+   MovePicker(Computer computer) {
+       this.computer = computer;
+   }
+
+   /**
+    * Starts picking the moves of a position.
+    * @param p
+    *      The position. It can't be changed until every move has been picked, except by moves that are taken back.
+    * @param pvMove
+    *      The move on the last principal variation, or 0 if there isn't one
+    * @param tableMove
+    *      The move stored in the transposition table, or 0 if there isn't one.
+    *      The hash moves come from other positions with the same key, so they are only used if they are legal here.
+    * @param quiets
+    *      Whether the quiet moves are picked too, or only the captures and promotions (for the quiescence search)
+    */
+   public void reset(Position p, int pvMove, int tableMove, boolean quiets) {
+       this.p = p;
+       this.quiets = quiets;
+       stage = HASH_MOVES;
+       hashCount = 0;
+       hashIndex = 0;
+       if (pvMove != 0 && p.isLegalMove(pvMove)) {
+           hashMoves[hashCount] = pvMove;
+           hashScores[hashCount++] = Const.PV_MOVE;
+       }
+       if (tableMove != 0 && tableMove != pvMove && p.isLegalMove(tableMove)) {
+           hashMoves[hashCount] = tableMove;
+           hashScores[hashCount++] = Const.TABLE_MOVE;
+       }
+   }
+
+   // returns the next move to search, or 0 when there are none left
+   public int next() {
+       while (true) {
+           switch (stage) {
+               case HASH_MOVES:
+                   if (hashIndex < hashCount) {
+                       lastScore = hashScores[hashIndex];
+                       return hashMoves[hashIndex++];
+                   }
+                   p.generateMoves(Const.GENERATE_CAPTURES, buffer);
+                   computer.orderMoves(p, buffer, moves);
+                   stage = CAPTURES;
+                   break;
+               case CAPTURES:
+               case QUIETS:
+                   int move = moves.next();
+                   if (move != 0) {
+                       // the hash moves were already searched
+                       if (isHashMove(move))
+                           continue;
+                       lastScore = moves.getLastScore();
+                       return move;
+                   }
+                   if (stage == CAPTURES && quiets) {
+                       p.generateMoves(Const.GENERATE_QUIETS, buffer);
+                       computer.orderMoves(p, buffer, moves);
+                       stage = QUIETS;
+                   }
+                   else
+                       stage = DONE;
+                   break;
+               default:
+                   return 0;
+           }
+       }
+   }
+
+   // returns the ordering score of the move next() returned last (see Computer.orderMoves())
+   public int getLastScore() {
+       return lastScore;
+   }
+
+   private boolean isHashMove(int move) {
+       for (int i = 0; i<hashCount; i++) {
+           if (hashMoves[i] == move)
+               return true;
+       }
+       return false;
+   }
+}
@@ -0,0 +1,171 @@
+package chessbot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+* This class reads an opening book in the Polyglot format, so that the computer can play well-known openings
+* without searching them.
+*
+* The book is a file of 16-byte entries, sorted by key:
+*   8 bytes the key of the position
+*   2 bytes a move played in the position
+*   2 bytes the weight of the move (how often it should be picked compared to the other moves of the position)
+*   4 bytes learning data (not used)
+* Every number is big-endian. A position with several moves has one entry per move, next to each other.
+*
+* The file is memory-mapped instead of read, so opening it is instant no matter how big it is,
+* and only the pages that a lookup touches are read from the disk.
+* The entries of a position are found with a binary search on the key.
+*
+* The keys are the ones from the Polyglot specification (see Polyglot), not the engine's Zobrist keys,
+* so books made by other programs work here too.
+*/
+public class OpeningBook {
+
+   // the size of one entry and where each field is in it
+   static final int ENTRY_SIZE = 16;
+   static final int MOVE_OFFSET = 8;
+   static final int WEIGHT_OFFSET = 10;
+
+   private final ByteBuffer entries;
+   private final int count; // the number of entries
+   private final Random random = new Random();
+
+   // a move buffer for turning book moves into legal moves
+   private final int[] legalMoves = new int[Const.BUFFER_SIZE];
+
+   /**
+    * Maps the book into memory.
+    * @param path
+    *      The book file
+    * @throws IOException
+    *      if the file can't be read or isn't made of whole entries
+    */
+   public OpeningBook(Path path) throws IOException {
+       try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+           long size = channel.size();
+           if (size % ENTRY_SIZE != 0 || size > Integer.MAX_VALUE)
+               throw new IOException("not a Polyglot book: " + path);
+           // the mapping stays valid after the channel is closed
+           entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+           count = (int) (size / ENTRY_SIZE);
+       }
+   }
+
+   /**
+    * Picks a book move for the position.
+    * Each move is picked with a chance in proportion to its weight, so the computer doesn't always play the same opening.
+    * @return
+    *      Returns a legal move in the position, or 0 if the position isn't in the book.
+    */
+   public int findMove(Position p) {
+       long key = Polyglot.key(p);
+       int first = firstEntry(key);
+
+       // adds up the weights of the position's moves, then picks a random point in that total
+       int totalWeight = 0;
+       int last = first;
+       for (; last < count && getKey(last) == key; last++)
+           totalWeight += getWeight(last);
+       if (last == first)
+           return 0;
+
+       if (totalWeight == 0)
+           return toMove(p, getMove(first));
+       int choice = random.nextInt(totalWeight);
+       int i = first;
+       while (choice >= getWeight(i)) {
+           choice -= getWeight(i);
+           i++;
+       }
+       return toMove(p, getMove(i));
+   }
+
+   // returns the number of moves the book has for the position
+   public int countMoves(Position p) {
+       long key = Polyglot.key(p);
+       int i = firstEntry(key);
+       int moves = 0;
+       while (i + moves < count && getKey(i + moves) == key)
+           moves++;
+       return moves;
+   }
+
+   public int getEntries() {
+       return count;
+   }
+
+   // returns the index of the first entry with the key (or where it would be if there isn't one)
+   // the keys are compared unsigned, since that's how the book is sorted
+   private int firstEntry(long key) {
+       int low = 0;
+       int high = count;
+       while (low < high) {
+           int middle = (low + high) >>> 1;
+           if (Long.compareUnsigned(getKey(middle), key) < 0)
+               low = middle + 1;
+           else
+               high = middle;
+       }
+       return low;
+   }
+
+   private long getKey(int index) {
+       return entries.getLong(index * ENTRY_SIZE);
+   }
+
+   private int getMove(int index) {
+       return entries.getShort(index * ENTRY_SIZE + MOVE_OFFSET) & 0xFFFF;
+   }
+
+   private int getWeight(int index) {
+       return entries.getShort(index * ENTRY_SIZE + WEIGHT_OFFSET) & 0xFFFF;
+   }
+
+   /**
+    * Turns a move from the book into the legal move it stands for.
+    * Polyglot moves are packed like this:
+    *   bits 0-5   the end square
+    *   bits 6-11  the start square
+    *   bits 12-14 the piece a pawn is promoted to (0 for none, 1 for a knight, up to 4 for a queen)
+    * Castling is written as the king taking its own rook (e.g. e1h1 instead of e1g1).
+    * @return
+    *      Returns the legal move, or 0 if the book move isn't legal (e.g. the key belongs to a different position)
+    */
+   private int toMove(Position p, int bookMove) {
+       int end = bookMove & 0x3F;
+       int start = (bookMove >>> 6) & 0x3F;
+       int promotion = (bookMove >>> 12) & 0x7;
+
+       if (p.getPiece(start) == Const.KING_PIECE && p.getPiece(end) == Const.ROOK_PIECE
+               && p.getColor(end) == p.getColor(start))
+           end = (end > start) ? start + 2 : start - 2;
+
+       int moveCount = p.generateMoves(Const.GENERATE_ALL, legalMoves);
+       for (int i = 0; i < moveCount; i++) {
+           int move = legalMoves[i];
+           if (Move.getStart(move) != start || Move.getEnd(move) != end)
+               continue;
+           // the Polyglot promotion pieces are one less than Const's (a knight is 1 instead of Const.KNIGHT_PIECE)
+           if (promotion == 0 ? !Move.isPromotion(move) : Move.getPromotionPiece(move) == promotion + 1)
+               return move;
+       }
+       return 0;
+   }
+
+   // turns a move into how the book writes it (the opposite of toMove())
+   static int toBookMove(int move) {
+       int start = Move.getStart(move);
+       int end = Move.getEnd(move);
+       // castling is written as the king taking its own rook
+       if (Move.isCastling(move))
+           end = (end > start) ? start + 3 : start - 4;
+       int promotion = Move.isPromotion(move) ? Move.getPromotionPiece(move) - 1 : 0;
+       return end | (start << 6) | (promotion << 12);
+   }
+}
@@ -0,0 +1,109 @@
+package chessbot;
+
+import java.util.Arrays;
+
+/**
+* This class remembers the pawn structure evaluation of positions, looked up by the pawn key of the position (Position.getPawnKey()).
+* Pawns move much less often than the other pieces, so almost every position the search reaches has a pawn structure
+* that was already evaluated, and the pawn terms of the evaluation hardly cost anything.
+*
+* Each entry is four longs: the pawn key, the score (middlegame in the top 32 bits and endgame in the bottom 32 bits),
+* and the passed pawns of white and of black.
+* Unlike the TranspositionTable, this isn't shared between threads: every Computer has its own.
+*/
+public class PawnHashTable {
+
+   private static final int ENTRY_SIZE = 4;
+
+   // entry i is stored at [4*i] to [4*i + 3]
+   // an empty entry looks like the entry of a position with no pawns (key 0, score 0, no passed pawns), which is what it should be anyway
+   private final long[] entries;
+
+   // the number of entries minus one (the number of entries is a power of two)
+   private final int mask;
+
+   // statistics about how the table is being used
+   private long probes;
+   private long hits;
+
+   /**
+    * @param sizeMB
+    *      How many megabytes the table may use.
+    *      The number of entries is rounded down to a power of two so that an index is just the low bits of the key.
+    */
+   public PawnHashTable(int sizeMB) {
+       long bytes = (long) sizeMB * 1024 * 1024;
+       long count = Long.highestOneBit(Math.max(bytes / (8 * ENTRY_SIZE), 1));
+       entries = new long[(int) (count * ENTRY_SIZE)];
+       mask = (int) (count - 1);
+   }
+
+   /**
+    * Looks up the pawn structure.
+    * @param pawnKey
+    *      The pawn key of the position
+    * @return
+    *      Returns the index of the entry, or -1 if the pawn structure isn't in the table.
+    *      The entry can be read with getMiddlegameScore(), getEndgameScore(), and getPassedPawns().
+    */
+   public int probe(long pawnKey) {
+       probes++;
+       int index = ((int) pawnKey & mask) * ENTRY_SIZE;
+       if (entries[index] == pawnKey) {
+           hits++;
+           return index;
+       }
+       return -1;
+   }
+
+   /**
+    * Stores the evaluation of a pawn structure, replacing whatever was in its entry.
+    * @return
+    *      Returns the index of the entry (the same as probe() would).
+    */
+   public int store(long pawnKey, int middlegameScore, int endgameScore, long whitePassedPawns, long blackPassedPawns) {
+       int index = ((int) pawnKey & mask) * ENTRY_SIZE;
+       entries[index] = pawnKey;
+       entries[index + 1] = ((long) middlegameScore << 32) | (endgameScore & 0xFFFFFFFFL);
+       entries[index + 2] = whitePassedPawns;
+       entries[index + 3] = blackPassedPawns;
+       return index;
+   }
+
+   public int getMiddlegameScore(int index) {
+       return (int) (entries[index + 1] >> 32);
+   }
+
+   public int getEndgameScore(int index) {
+       return (int) entries[index + 1];
+   }
+
+   // returns a bitboard of the passed pawns of the color
+   public long getPassedPawns(int index, int color) {
+       return (color == Const.WHITE) ? entries[index + 2] : entries[index + 3];
+   }
+
+   // empties the table and resets the statistics
+   public void clear() {
+       Arrays.fill(entries, 0L);
+       probes = 0;
+       hits = 0;
+   }
+
+   public int getSize() {
+       return entries.length / ENTRY_SIZE;
+   }
+
+   public long getProbes() {
+       return probes;
+   }
+
+   public long getHits() {
+       return hits;
+   }
+
+   // returns what fraction of the probes found their pawn structure
+   public double getHitRate() {
+       return probes == 0 ? 0.0 : (double) hits / probes;
+   }
+}
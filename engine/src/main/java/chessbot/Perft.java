@@ -0,0 +1,155 @@
+package chessbot;
+
+/**
+* This class tests the move generator by counting every position that can be reached in a certain number of moves (perft).
+* The counts of well-known positions have been worked out by many other engines,
+* so if a count here is different, the move generator has a bug.
+* It also measures how many positions per second the move generator can go through.
+*
+* Running it with no arguments runs every reference position.
+* Running it with a fen and a depth prints the count under each move (divide), which helps find which move is wrong.
+*/
+public class Perft {
+
+   // the reference positions: their names, fens, the depth to count to, and the correct number of positions at that depth
+   // these come from https://www.chessprogramming.org/Perft_Results and Martin Sedlak's perft test suite
+   private static final String[] NAMES = {
+           "start position",
+           "kiwipete",
+           "position 3 (en passant and rook endgame)",
+           "position 4 (promotions and castling)",
+           "position 5 (promotion with check)",
+           "illegal en passant (pinned along a rank)",
+           "illegal en passant (pinned along a diagonal)",
+           "en passant gives check",
+           "short castling gives check",
+           "long castling gives check",
+           "castling rights",
+           "castling prevented",
+           "promote out of check",
+           "discovered check",
+           "promote to give check",
+           "underpromote to give check",
+           "self stalemate",
+           "stalemate and checkmate",
+           "stalemate and checkmate 2"
+   };
+   private static final String[] FENS = {
+           Const.STARTING_POSITION,
+           "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+           "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+           "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+           "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+           "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1",
+           "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1",
+           "8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1",
+           "5k2/8/8/8/8/8/8/4K2R w K - 0 1",
+           "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1",
+           "r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1",
+           "r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1",
+           "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1",
+           "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1",
+           "4k3/1P6/8/8/8/8/K7/8 w - - 0 1",
+           "8/P1k5/K7/8/8/8/8/8 w - - 0 1",
+           "K1k5/8/P7/8/8/8/8/8 w - - 0 1",
+           "8/k1P5/8/1K6/8/8/8/8 w - - 0 1",
+           "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1"
+   };
+   private static final int[] DEPTHS = {5, 4, 5, 4, 4, 6, 6, 6, 6, 6, 4, 4, 6, 5, 6, 6, 6, 7, 4};
+   private static final long[] NODES = {
+           4865609, 4085603, 674624, 422333, 2103487,
+           1134888, 1015133, 1440467, 661072, 803711, 1274206, 1720476,
+           3821001, 1004658, 217342, 92683, 2217, 567584, 23527
+   };
+
+   // a move buffer for every ply so that counting doesn't allocate them
+   private int[][] buffers = new int[Const.MAX_PLY][Const.BUFFER_SIZE];
+
+   /**
+    * Counts the positions that can be reached from the position in exactly depth plies.
+    * The position is the same afterwards (every move is taken back).
+    */
+   public long perft(Position p, int depth) {
+       if (depth == 0)
+           return 1;
+
+       int[] legalMoves = buffers[depth];
+       int moveCount = p.generateMoves(Const.GENERATE_ALL, legalMoves);
+
+       // at the last ply, the number of legal moves is the number of positions, so the moves don't have to be made
+       if (depth == 1)
+           return moveCount;
+
+       long count = 0;
+       for (int i = 0; i<moveCount; i++) {
+           UndoInfo undo = p.makeMove(legalMoves[i]);
+           count += perft(p, depth-1);
+           p.unmakeMove(legalMoves[i], undo);
+       }
+       return count;
+   }
+
+   // the same as perft(), but prints the count under each move of the position
+   public long divide(Position p, int depth) {
+       int[] legalMoves = p.findLegalMoves(p);
+       long total = 0;
+       for (int i = 0; i<Const.BUFFER_SIZE && legalMoves[i] != 0; i++) {
+           int move = legalMoves[i];
+           UndoInfo undo = p.makeMove(move);
+           long count = perft(p, depth-1);
+           p.unmakeMove(move, undo);
+           System.out.println(p.moveToString(move) + ": " + count);
+           total += count;
+       }
+       System.out.println("Total: " + total);
+       return total;
+   }
+
+   /**
+    * Counts every reference position and compares it to the correct count.
+    * @return
+    *      Returns whether every count was correct.
+    */
+   public boolean runReferencePositions() {
+       boolean allCorrect = true;
+       long totalNodes = 0;
+       long totalTime = 0;
+
+       for (int i = 0; i<FENS.length; i++) {
+           Position p = new Position();
+           p.readFen(FENS[i]);
+
+           long startTime = System.nanoTime();
+           long count = perft(p, DEPTHS[i]);
+           long time = System.nanoTime() - startTime;
+           totalNodes += count;
+           totalTime += time;
+
+           boolean correct = count == NODES[i];
+           allCorrect &= correct;
+           System.out.println((correct ? "passed  " : "FAILED  ") + NAMES[i] + " (depth " + DEPTHS[i] + "): "
+                   + count + (correct ? "" : " (expected " + NODES[i] + ")")
+                   + ", " + nodesPerSecond(count, time) + " positions per second");
+       }
+
+       System.out.println();
+       System.out.println(totalNodes + " positions in " + totalTime / 1000000 + " ms, "
+               + nodesPerSecond(totalNodes, totalTime) + " positions per second");
+       return allCorrect;
+   }
+
+   private static long nodesPerSecond(long nodes, long nanoseconds) {
+       return nanoseconds == 0 ? 0 : nodes * 1000000000L / nanoseconds;
+   }
+
+   public static void main(String[] args) {
+       Perft perft = new Perft();
+       if (args.length >= 2) {
+           Position p = new Position();
+           p.readFen(args[0]);
+           perft.divide(p, Integer.parseInt(args[1]));
+       }
+       else if (!perft.runReferencePositions())
+           System.exit(1);
+   }
+}
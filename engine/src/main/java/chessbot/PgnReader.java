@@ -0,0 +1,241 @@
+package chessbot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* This class reads chess games in PGN (Portable Game Notation), one game at a time,
+* so that files with millions of games never have to be held in memory.
+*
+* A game is a section of tags like [White "..."] followed by the moves ("movetext"), e.g.
+*   1. e4 e5 2. Nf3 {a comment} Nc6 (2... d6 is a variation) 3. Bb5 1-0
+* The moves are in standard algebraic notation (SAN), which only says as much about a move as is needed
+* to tell it apart from the other legal moves, so the game has to be played through to read them.
+*/
+public class PgnReader {
+
+   private final BufferedReader reader;
+   private String nextLine; // a line that was read but belongs to the next game
+
+   public PgnReader(BufferedReader reader) {
+       this.reader = reader;
+   }
+
+   /**
+    * Reads the next game.
+    * @return
+    *      Returns the text of the game (its tags and its movetext), or null when there are no games left.
+    */
+   public String nextGame() throws IOException {
+       StringBuilder game = new StringBuilder();
+       boolean hasMoves = false;
+       String line = (nextLine != null) ? nextLine : reader.readLine();
+       nextLine = null;
+       for (; line != null; line = reader.readLine()) {
+           String trimmed = line.trim();
+           // a tag after the movetext is the start of the next game
+           if (trimmed.startsWith("[") && hasMoves) {
+               nextLine = line;
+               break;
+           }
+           if (!trimmed.isEmpty() && !trimmed.startsWith("[") && !trimmed.startsWith("%"))
+               hasMoves = true;
+           game.append(line).append('\n');
+       }
+       return (game.length() == 0) ? null : game.toString();
+   }
+
+   /**
+    * Sets the position to where the game starts: the FEN tag if the game has one, otherwise the starting position.
+    */
+   public static void setUp(String game, Position p) {
+       int tag = game.indexOf("[FEN \"");
+       if (tag >= 0) {
+           int start = tag + 6;
+           int end = game.indexOf('"', start);
+           if (end > start) {
+               p.readFen(game.substring(start, end));
+               return;
+           }
+       }
+       p.readFen(Const.STARTING_POSITION);
+   }
+
+   /**
+    * Finds the moves of the main line of a game.
+    * Tags, comments, variations, move numbers, annotation glyphs ($1) and the result are left out.
+    * @return
+    *      Returns the moves in SAN, in the order they were played
+    */
+   public static List<String> moveTokens(String game) {
+       List<String> tokens = new ArrayList<>();
+       int length = game.length();
+       int variationDepth = 0;
+       int i = 0;
+       while (i < length) {
+           char c = game.charAt(i);
+           if (c == '[' && variationDepth == 0 && (i == 0 || game.charAt(i-1) == '\n')) {
+               i = skipPast(game, i, ']');
+           }
+           else if (c == '{') {
+               i = skipPast(game, i, '}');
+           }
+           else if (c == ';' || (c == '%' && (i == 0 || game.charAt(i-1) == '\n'))) {
+               i = skipPast(game, i, '\n');
+           }
+           else if (c == '(') {
+               variationDepth++;
+               i++;
+           }
+           else if (c == ')') {
+               variationDepth = Math.max(variationDepth - 1, 0);
+               i++;
+           }
+           else if (Character.isWhitespace(c)) {
+               i++;
+           }
+           else {
+               int start = i;
+               while (i < length && !Character.isWhitespace(game.charAt(i)) && "{}();".indexOf(game.charAt(i)) < 0)
+                   i++;
+               if (variationDepth > 0)
+                   continue;
+               String token = stripMoveNumber(game.substring(start, i));
+               if (isResult(token))
+                   break;
+               if (!token.isEmpty() && token.charAt(0) != '$')
+                   tokens.add(token);
+           }
+       }
+       return tokens;
+   }
+
+   // returns the index after the next time the character appears (or the end of the text)
+   private static int skipPast(String text, int index, char c) {
+       int end = text.indexOf(c, index + 1);
+       return (end < 0) ? text.length() : end + 1;
+   }
+
+   // turns "12.e4" into "e4", and "12." or "12..." into ""
+   private static String stripMoveNumber(String token) {
+       int i = 0;
+       while (i < token.length() && Character.isDigit(token.charAt(i)))
+           i++;
+       if (i == 0 || i == token.length() || token.charAt(i) != '.')
+           return (i == token.length() && i > 0) ? "" : token;
+       while (i < token.length() && token.charAt(i) == '.')
+           i++;
+       return token.substring(i);
+   }
+
+   private static boolean isResult(String token) {
+       return token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2") || token.equals("*");
+   }
+
+   /**
+    * Finds the legal move that a move in SAN stands for, e.g. "Nbd7", "exd5", "e8=Q+", or "O-O".
+    * @param buffer
+    *      A move buffer to generate the legal moves in
+    * @return
+    *      Returns the move, or 0 if no legal move matches.
+    */
+   public static int parseSan(Position p, String san, int[] buffer) {
+       // takes off the check, mate, and annotation marks
+       int length = san.length();
+       while (length > 0 && "+#!?".indexOf(san.charAt(length-1)) >= 0)
+           length--;
+       san = san.substring(0, length);
+       if (length < 2)
+           return 0;
+
+       int moveCount = p.generateMoves(Const.GENERATE_ALL, buffer);
+
+       // castling is written as O-O (kingside) or O-O-O (queenside), sometimes with zeros
+       if (san.equals("O-O") || san.equals("0-0") || san.equals("O-O-O") || san.equals("0-0-0")) {
+           boolean kingside = length == 3;
+           for (int i = 0; i<moveCount; i++) {
+               int move = buffer[i];
+               if (Move.isCastling(move) && (Move.getEnd(move) > Move.getStart(move)) == kingside)
+                   return move;
+           }
+           return 0;
+       }
+
+       // the piece a pawn is promoted to comes last, usually after an '=' (e8=Q), but sometimes without it (e8Q)
+       int promotion = Const.EMPTY;
+       char last = san.charAt(length-1);
+       if ("QRBN".indexOf(last) >= 0) {
+           promotion = pieceOf(last);
+           length -= (san.charAt(length-2) == '=') ? 2 : 1;
+       }
+       if (length < 2)
+           return 0;
+
+       int end = squareOf(san.charAt(length-2), san.charAt(length-1));
+       if (end < 0)
+           return 0;
+
+       // the moving piece is given by its letter, pawns have none
+       int piece = Const.PAWN_PIECE;
+       int index = 0;
+       if ("KQRBN".indexOf(san.charAt(0)) >= 0) {
+           piece = pieceOf(san.charAt(0));
+           index = 1;
+       }
+
+       // whatever is left between the piece and the ending square tells apart pieces that can go to the same square
+       int file = -1;
+       int rank = -1;
+       for (; index < length-2; index++) {
+           char c = san.charAt(index);
+           if (c >= 'a' && c <= 'h')
+               file = c - 'a';
+           else if (c >= '1' && c <= '8')
+               rank = c - '1';
+       }
+
+       for (int i = 0; i<moveCount; i++) {
+           int move = buffer[i];
+           int start = Move.getStart(move);
+           if (Move.getEnd(move) != end || p.getPiece(start) != piece || Move.isCastling(move))
+               continue;
+           if ((file >= 0 && start % 8 != file) || (rank >= 0 && start / 8 != rank))
+               continue;
+           // a promotion without a piece is taken to be a queen
+           if (Move.isPromotion(move)) {
+               int wanted = (promotion == Const.EMPTY) ? Const.QUEEN_PIECE : promotion;
+               if (Move.getPromotionPiece(move) != wanted)
+                   continue;
+           }
+           else if (promotion != Const.EMPTY)
+               continue;
+           return move;
+       }
+       return 0;
+   }
+
+   private static int pieceOf(char letter) {
+       switch (letter) {
+           case 'N':
+               return Const.KNIGHT_PIECE;
+           case 'B':
+               return Const.BISHOP_PIECE;
+           case 'R':
+               return Const.ROOK_PIECE;
+           case 'Q':
+               return Const.QUEEN_PIECE;
+           case 'K':
+               return Const.KING_PIECE;
+       }
+       return Const.EMPTY;
+   }
+
+   // returns the index of a square from its file and rank characters, or -1 if they aren't a square
+   private static int squareOf(char file, char rank) {
+       if (file < 'a' || file > 'h' || rank < '1' || rank > '8')
+           return -1;
+       return (rank - '1') * 8 + (file - 'a');
+   }
+}
@@ -1,3 +1,5 @@
+package chessbot;
+
 /**
 * This class represents each square on the chess board.
 * It has a piece and a color (or empty)
@@ -0,0 +1,1240 @@
+package chessbot;
+
+import java.util.Arrays;
+
+public class Position {
+
+   // one bitboard for every kind of piece of every color
+   // the bitboard of a piece is at index (color-1)*6 + (piece-1), so white pawns are 0 and black kings are 11
+   private long[] bitboards;
+
+   // the squares occupied by each color (indexed by color) and the squares occupied by any piece
+   private long[] occupancy;
+   private long occupied;
+
+   // the piece and color on each square, so that looking up a single square doesn't have to search the bitboards
+   private int[] squarePiece;
+   private int[] squareColor;
+
+   // whose turn it is
+   private int turn;
+
+   // values regarding whether white of black can castle
+   private boolean whiteKingside;
+   private boolean blackKingside;
+   private boolean whiteQueenside;
+   private boolean blackQueenside;
+
+   // how many moves have been played
+   private int halfMoveClock;
+   private int fullMoveClock;
+
+   // if there is a square that can be moved to via enPassant, that square will be stored here
+   private int enPassant;
+
+   // the Zobrist hash key of the position (see Zobrist)
+   // it is updated during every move rather than being recomputed
+   private long zobristKey;
+
+   // the Zobrist keys of the positions before each move that led to this one, first the moves of the game and then the search's
+   // a position can only repeat one from after the last capture or pawn move, so only the last halfMoveClock keys are ever looked at
+   private long[] keyHistory;
+   private int historyCount;
+   // where in keyHistory the last null move put its key (-1 if there is no null move being searched)
+   // a null move isn't a real move, so the positions from before it don't count as repetitions of the ones after it
+   private int lastNullMove = -1;
+
+   // the Zobrist key of only the pawns, used to look up the pawn structure in the pawn hash table (see PawnHashTable)
+   private long pawnKey;
+
+   // the material and piece-square parts of the evaluation (positive is better for white)
+   // they are updated whenever a piece is put on or taken off of a square, so the evaluation doesn't have to look at every square
+   // there is a piece-square score with the middlegame tables and one with the endgame tables, and the phase says how to mix them
+   private int material;
+   private int middlegameScore;
+   private int endgameScore;
+   private int phase; // how much non-pawn material is left (see Const.TOTAL_PHASE)
+
+   // the value of each piece on each square for the middlegame and the endgame, indexed like the bitboards
+   // black's values are negative so that the values of all the pieces can just be added up
+   private static final int[][] MIDDLEGAME_TABLES = new int[12][64];
+   private static final int[][] ENDGAME_TABLES = new int[12][64];
+   private static final int[] PIECE_VALUES = new int[12];
+   private static final int[] PIECE_PHASES = new int[12];
+
+   static {
+       for (int color = Const.WHITE; color <= Const.BLACK; color++) {
+           int c = (color == Const.WHITE) ? 1 : -1;
+           for (int piece = Const.PAWN_PIECE; piece <= Const.KING_PIECE; piece++) {
+               int index = bitboardIndex(piece, color);
+               PIECE_VALUES[index] = c * pieceValue(piece);
+               PIECE_PHASES[index] = piecePhase(piece);
+               for (int square = 0; square<64; square++) {
+                   MIDDLEGAME_TABLES[index][square] = c * pieceSquareValue(piece, color, square, false);
+                   ENDGAME_TABLES[index][square] = c * pieceSquareValue(piece, color, square, true);
+               }
+           }
+       }
+   }
+
+   // the information needed to take back the moves made with makeMove()
+   // these are allocated once so that searching doesn't create new objects for every move
+   private UndoInfo[] undoStack;
+   private int undoCount;
+
+   // a move buffer for isLegalMove() and hasLegalMoves(), so they don't make new arrays
+   private int[] scratch = new int[Const.BUFFER_SIZE];
+
+   // creates an empty board
+   public Position() {
+       bitboards = new long[12];
+       occupancy = new long[3];
+       squarePiece = new int[64];
+       squareColor = new int[64];
+       undoStack = new UndoInfo[Const.MAX_PLY];
+       for (int i = 0; i<Const.MAX_PLY; i++)
+           undoStack[i] = new UndoInfo();
+       keyHistory = new long[2*Const.MAX_PLY];
+   }
+
+   // creates a copy of the position
+   // the copy has its own undo stack, so it can be searched at the same time as the original
+   public Position(Position p) {
+       this();
+       System.arraycopy(p.bitboards, 0, bitboards, 0, 12);
+       System.arraycopy(p.occupancy, 0, occupancy, 0, 3);
+       System.arraycopy(p.squarePiece, 0, squarePiece, 0, 64);
+       System.arraycopy(p.squareColor, 0, squareColor, 0, 64);
+       occupied = p.occupied;
+       halfMoveClock = p.halfMoveClock;
+       fullMoveClock = p.fullMoveClock;
+       turn = p.turn;
+       blackQueenside = p.blackQueenside;
+       blackKingside = p.blackKingside;
+       whiteQueenside = p.whiteQueenside;
+       whiteKingside = p.whiteKingside;
+       enPassant = p.enPassant;
+       zobristKey = p.zobristKey;
+       // only the keys that can still be repeated are copied
+       int keep = Math.min(p.historyCount, p.halfMoveClock);
+       if (keep + Const.MAX_PLY > keyHistory.length)
+           keyHistory = new long[keep + 2*Const.MAX_PLY];
+       System.arraycopy(p.keyHistory, p.historyCount - keep, keyHistory, 0, keep);
+       historyCount = keep;
+       lastNullMove = Math.max(p.lastNullMove - (p.historyCount - keep), -1);
+       pawnKey = p.pawnKey;
+       material = p.material;
+       middlegameScore = p.middlegameScore;
+       endgameScore = p.endgameScore;
+       phase = p.phase;
+   }
+
+   /**
+    * Builds an array of Pieces from the bitboards.
+    * This is kept for the code that reads the board one square at a time (Arm, DecodeMove, and determineArduinoCommand).
+    * Note: the array is a copy, so changing it does not change the position
+    */
+   public Pieces[] getBoard() {
+       Pieces[] board = new Pieces[64];
+       for (int i = 0; i<64; i++)
+           board[i] = new Pieces(squarePiece[i], squareColor[i]);
+       return board;
+   }
+
+   // returns the piece on the square (or Const.EMPTY)
+   public int getPiece(int square) {
+       return squarePiece[square];
+   }
+
+   // returns the color of the piece on the square (or Const.NO_COLOR)
+   public int getColor(int square) {
+       return squareColor[square];
+   }
+
+   // returns the bitboard of every square that has the given piece of the given color
+   public long getBitboard(int piece, int color) {
+       return bitboards[bitboardIndex(piece, color)];
+   }
+
+   // returns the bitboard of every square occupied by the color
+   public long getOccupancy(int color) {
+       return occupancy[color];
+   }
+
+   // returns the bitboard of every occupied square
+   public long getOccupied() {
+       return occupied;
+   }
+
+   // returns the square that the king of the given color is on
+   public int getKingSquare(int color) {
+       return Long.numberOfTrailingZeros(bitboards[bitboardIndex(Const.KING_PIECE, color)]);
+   }
+
+   public int getTurn() {
+       return turn;
+   }
+
+   public int getFullMoveClock() {
+       return fullMoveClock;
+   }
+
+   public int getHalfMoveClock() {
+       return halfMoveClock;
+   }
+
+   public int getEnPassant() {
+       return enPassant;
+   }
+
+   // returns whether either side can still castle
+   public boolean hasCastlingRights() {
+       return whiteKingside || whiteQueenside || blackKingside || blackQueenside;
+   }
+
+   // returns whether the color can still castle kingside
+   public boolean canCastleKingside(int color) {
+       return (color == Const.WHITE) ? whiteKingside : blackKingside;
+   }
+
+   // returns whether the color can still castle queenside
+   public boolean canCastleQueenside(int color) {
+       return (color == Const.WHITE) ? whiteQueenside : blackQueenside;
+   }
+
+   public long getZobristKey() {
+       return zobristKey;
+   }
+
+   /**
+    * Computes the Zobrist key from scratch by going through the whole position.
+    * The search never needs this because the key is kept up to date during moves,
+    * but it can be compared against getZobristKey() to make sure the updates are right.
+    */
+   public long computeZobristKey() {
+       long key = 0L;
+       for (int i = 0; i<12; i++) {
+           long pieces = bitboards[i];
+           while (pieces != 0) {
+               key ^= Zobrist.PIECES[i][Long.numberOfTrailingZeros(pieces)];
+               pieces &= pieces - 1;
+           }
+       }
+       if (turn == Const.BLACK)
+           key ^= Zobrist.BLACK_TO_MOVE;
+       return key ^ castlingAndEnPassantKey();
+   }
+
+   public long getPawnKey() {
+       return pawnKey;
+   }
+
+   // computes the pawn key from scratch
+   public long computePawnKey() {
+       long key = 0L;
+       for (int color = Const.WHITE; color <= Const.BLACK; color++) {
+           int index = bitboardIndex(Const.PAWN_PIECE, color);
+           long pawns = bitboards[index];
+           while (pawns != 0) {
+               key ^= Zobrist.PIECES[index][Long.numberOfTrailingZeros(pawns)];
+               pawns &= pawns - 1;
+           }
+       }
+       return key;
+   }
+
+   // returns the part of the Zobrist key that comes from the castling rights and the enpassant square
+   private long castlingAndEnPassantKey() {
+       long key = 0L;
+       if (whiteKingside)
+           key ^= Zobrist.WHITE_KINGSIDE;
+       if (whiteQueenside)
+           key ^= Zobrist.WHITE_QUEENSIDE;
+       if (blackKingside)
+           key ^= Zobrist.BLACK_KINGSIDE;
+       if (blackQueenside)
+           key ^= Zobrist.BLACK_QUEENSIDE;
+       if (enPassant != Const.EMPTY)
+           key ^= Zobrist.EN_PASSANT[enPassant % 8];
+       return key;
+   }
+
+   private static int bitboardIndex(int piece, int color) {
+       return (color - 1) * 6 + (piece - 1);
+   }
+
+   // returns the material score of the position (positive is better for white)
+   public int getMaterial() {
+       return material;
+   }
+
+   // returns the piece-square score of the position using the middlegame tables
+   public int getMiddlegameScore() {
+       return middlegameScore;
+   }
+
+   // returns the piece-square score of the position using the endgame tables
+   public int getEndgameScore() {
+       return endgameScore;
+   }
+
+   // returns the game phase, from Const.TOTAL_PHASE when no pieces have been traded down to 0 when only pawns and kings are left
+   // it can be more than Const.TOTAL_PHASE after a promotion
+   public int getPhase() {
+       return phase;
+   }
+
+   private static int piecePhase(int piece) {
+       switch (piece) {
+           case Const.KNIGHT_PIECE:
+               return Const.KNIGHT_PHASE;
+           case Const.BISHOP_PIECE:
+               return Const.BISHOP_PHASE;
+           case Const.ROOK_PIECE:
+               return Const.ROOK_PHASE;
+           case Const.QUEEN_PIECE:
+               return Const.QUEEN_PHASE;
+       }
+       return 0;
+   }
+
+   private static int pieceValue(int piece) {
+       switch (piece) {
+           case Const.PAWN_PIECE:
+               return Const.PAWN_VALUE;
+           case Const.KNIGHT_PIECE:
+               return Const.KNIGHT_VALUE;
+           case Const.BISHOP_PIECE:
+               return Const.BISHOP_VALUE;
+           case Const.ROOK_PIECE:
+               return Const.ROOK_VALUE;
+           case Const.QUEEN_PIECE:
+               return Const.QUEEN_VALUE;
+           case Const.KING_PIECE:
+               return Const.KING_VALUE;
+       }
+       return 0;
+   }
+
+   // looks up how good the square is for the piece in the piece-square tables in Const
+   // the tables are written for white, so black reads them from the other end
+   private static int pieceSquareValue(int piece, int color, int square, boolean endgame) {
+       int i = (color == Const.WHITE) ? square : 63-square;
+       switch (piece) {
+           case Const.PAWN_PIECE:
+               return endgame ? Const.PAWN_ENDGAME_TABLE[i] : Const.PAWN_TABLE[i];
+           case Const.KNIGHT_PIECE:
+               return endgame ? Const.KNIGHT_ENDGAME_TABLE[i] : Const.KNIGHT_TABLE[i];
+           case Const.BISHOP_PIECE:
+               return endgame ? Const.BISHOP_ENDGAME_TABLE[i] : Const.BISHOP_TABLE[i];
+           case Const.ROOK_PIECE:
+               return endgame ? Const.ROOK_ENDGAME_TABLE[i] : Const.ROOK_TABLE[i];
+           //note: the queen table requires two different tables according to the colors because
+           // queens tend to be best positioned on c2-b3 (white) and c7-b6 (black)
+           // those squares cause the tables to not be symmetric, so it requires two different tables
+           case Const.QUEEN_PIECE:
+               if (endgame)
+                   return Const.QUEEN_ENDGAME_TABLE[i];
+               return (color == Const.WHITE) ? Const.WHITE_QUEEN_TABLE[i] : Const.BLACK_QUEEN_TABLE[i];
+           // note: there are two different piece-square tables for the king because
+           // in the early stages of the game, the king is better protected,
+           // but in the later stages of the game, the king is better centralized
+           case Const.KING_PIECE:
+               return endgame ? Const.KING_ENDGAME_TABLE[i] : Const.KING_MIDDLEGAME_TABLE[i];
+       }
+       return 0;
+   }
+
+   // places a piece on an empty square
+   private void putPiece(int square, int piece, int color) {
+       long bit = 1L << square;
+       int index = bitboardIndex(piece, color);
+       bitboards[index] |= bit;
+       zobristKey ^= Zobrist.PIECES[index][square];
+       if (piece == Const.PAWN_PIECE)
+           pawnKey ^= Zobrist.PIECES[index][square];
+       material += PIECE_VALUES[index];
+       phase += PIECE_PHASES[index];
+       middlegameScore += MIDDLEGAME_TABLES[index][square];
+       endgameScore += ENDGAME_TABLES[index][square];
+       occupancy[color] |= bit;
+       occupied |= bit;
+       squarePiece[square] = piece;
+       squareColor[square] = color;
+   }
+
+   // takes the piece off of the square
+   private void removePiece(int square) {
+       long bit = 1L << square;
+       int index = bitboardIndex(squarePiece[square], squareColor[square]);
+       bitboards[index] &= ~bit;
+       zobristKey ^= Zobrist.PIECES[index][square];
+       if (squarePiece[square] == Const.PAWN_PIECE)
+           pawnKey ^= Zobrist.PIECES[index][square];
+       material -= PIECE_VALUES[index];
+       phase -= PIECE_PHASES[index];
+       middlegameScore -= MIDDLEGAME_TABLES[index][square];
+       endgameScore -= ENDGAME_TABLES[index][square];
+       occupancy[squareColor[square]] &= ~bit;
+       occupied &= ~bit;
+       squarePiece[square] = Const.EMPTY;
+       squareColor[square] = Const.NO_COLOR;
+   }
+
+   // this function will take the piece on the starting square to the ending square
+   // it does not check whether the move is legal or not
+   public void moveSimple(Position p, int start, int end) {
+       int piece = p.squarePiece[start];
+       int color = p.squareColor[start];
+       if (p.squarePiece[end] != Const.EMPTY)
+           p.removePiece(end);
+       p.removePiece(start);
+       p.putPiece(end, piece, color);
+   }
+
+   /**
+    * @param p
+    *      starting position
+    * @param move
+    *      the move that is to be made on the starting position
+    */
+   public Position getMovedBoard(Position p, int move) {
+       // copies all the elements of the position onto the new moved position
+       Position newPosition = new Position(p);
+       return move(newPosition, move);
+   }
+
+   /**
+    * This method updates the board by moving the piece and updating the associated information about the position
+    * @param p
+    *  The starting position
+    * @param move
+    *  The move that is to be applied on the position
+    * @return
+    *  Returns the moved position
+    */
+   public Position move(Position p, int move) {
+       int start = Move.getStart(move);
+       int startPiece = p.squarePiece[start];
+       int color = p.squareColor[start];
+       int end = Move.getEnd(move);
+       int flag = Move.getFlag(move);
+
+       p.pushKey(p.zobristKey);
+
+       // takes the old castling rights and enpassant square out of the key (the new ones are put in at the end)
+       p.zobristKey ^= p.castlingAndEnPassantKey();
+
+       /** updates castling rules*/
+       // castling moves the rook too
+       if (flag == Const.CASTLING_FLAG) {
+           if (end == 6)
+               moveSimple(p,7,5);
+           else if (end == 2)
+               moveSimple(p,0,3);
+           else if (end == 62)
+               moveSimple(p,63,61);
+           else if (end == 58)
+               moveSimple(p,56,59);
+       }
+       if (startPiece == Const.KING_PIECE && color == Const.WHITE)
+           p.whiteKingside = p.whiteQueenside = false;
+       if (startPiece == Const.KING_PIECE && color == Const.BLACK)
+           p.blackQueenside = p.blackKingside = false;
+       // enpassant takes the pawn behind the ending square
+       if (flag == Const.EN_PASSANT_FLAG)
+           p.removePiece((color == Const.WHITE) ? end-8 : end+8);
+       // if a piece on [corner square] moved or if a piece on [corner square] was captured, castling isn't allowed anymore
+       if (start == 7 || end == 7) // h1
+           p.whiteKingside = false;
+       if (start == 0 ||end == 0) // a1
+           p.whiteQueenside = false;
+       if (start == 63 || end == 63) // h8
+           p.blackKingside = false;
+       if (start == 56 || end == 56) // a8
+           p.blackQueenside = false;
+
+       /** sets enpassant */
+       if (startPiece == Const.PAWN_PIECE && color == Const.WHITE && end-start == 16)
+           p.enPassant = end - 8;
+       else if (startPiece == Const.PAWN_PIECE && color == Const.BLACK && end - start == -16)
+           p.enPassant = end + 8;
+       else
+           p.enPassant = Const.EMPTY;
+
+
+       /** updates halfmove clock*/
+       if (startPiece == Const.PAWN_PIECE || p.squarePiece[end] != Const.EMPTY)
+           p.halfMoveClock = -1;
+       p.halfMoveClock += 1;
+
+       /** updates the actual move*/
+       moveSimple(p,start,end);
+
+       /** updates position if move was a promotion */
+       if (flag == Const.PROMOTION_FLAG) {
+           p.removePiece(end);
+           p.putPiece(end, Move.getPromotionPiece(move), color);
+       }
+
+       /** updates whose turn it is*/
+       if (p.turn == Const.BLACK) {
+           p.turn = Const.WHITE;
+           p.fullMoveClock += 1;
+       }
+       else
+           p.turn = Const.BLACK;
+
+       p.zobristKey ^= p.castlingAndEnPassantKey() ^ Zobrist.BLACK_TO_MOVE;
+       assert p.zobristKey == p.computeZobristKey() : "Zobrist key is out of sync after move " + move;
+       assert p.pawnKey == p.computePawnKey() : "pawn key is out of sync after move " + move;
+
+       return p;
+   }
+
+   /**
+    * Makes the move on this position instead of on a copy.
+    * The information needed to take the move back is saved on the undo stack.
+    * @param move
+    *  The move that is to be applied on the position
+    * @return
+    *  Returns the information that has to be given to unmakeMove() to take the move back
+    */
+   public UndoInfo makeMove(int move) {
+       UndoInfo undo = undoStack[undoCount++];
+       int start = Move.getStart(move);
+       int end = Move.getEnd(move);
+
+       undo.movedPiece = squarePiece[start];
+       undo.isEnPassant = Move.isEnPassant(move);
+       undo.capturedPiece = undo.isEnPassant ? Const.PAWN_PIECE : squarePiece[end];
+       undo.whiteKingside = whiteKingside;
+       undo.blackKingside = blackKingside;
+       undo.whiteQueenside = whiteQueenside;
+       undo.blackQueenside = blackQueenside;
+       undo.enPassant = enPassant;
+       undo.halfMoveClock = halfMoveClock;
+       undo.fullMoveClock = fullMoveClock;
+       undo.zobristKey = zobristKey;
+
+       move(this, move);
+       return undo;
+   }
+
+   /**
+    * Takes back a move made with makeMove().
+    * Moves have to be taken back in the opposite order that they were made.
+    * @param move
+    *  The move that was made
+    * @param undo
+    *  The information returned by makeMove() when the move was made
+    */
+   public void unmakeMove(int move, UndoInfo undo) {
+       int start = Move.getStart(move);
+       int end = Move.getEnd(move);
+       int color = squareColor[end];
+       int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+
+       // moves the piece back (and turns a promoted piece back into a pawn)
+       removePiece(end);
+       putPiece(start, undo.movedPiece, color);
+
+       // puts the captured piece back
+       if (undo.isEnPassant) {
+           if (color == Const.WHITE)
+               putPiece(end-8, Const.PAWN_PIECE, opponent);
+           else
+               putPiece(end+8, Const.PAWN_PIECE, opponent);
+       }
+       else if (undo.capturedPiece != Const.EMPTY)
+           putPiece(end, undo.capturedPiece, opponent);
+
+       // moves the rook back if the move was castling
+       if (Move.isCastling(move)) {
+           if (end == 6)
+               moveSimple(this,5,7);
+           else if (end == 2)
+               moveSimple(this,3,0);
+           else if (end == 62)
+               moveSimple(this,61,63);
+           else if (end == 58)
+               moveSimple(this,59,56);
+       }
+
+       whiteKingside = undo.whiteKingside;
+       blackKingside = undo.blackKingside;
+       whiteQueenside = undo.whiteQueenside;
+       blackQueenside = undo.blackQueenside;
+       enPassant = undo.enPassant;
+       halfMoveClock = undo.halfMoveClock;
+       fullMoveClock = undo.fullMoveClock;
+       zobristKey = undo.zobristKey;
+       turn = color;
+       undoCount--;
+       historyCount--;
+   }
+
+   /**
+    * Passes the turn to the other side without moving anything (a "null move").
+    * This isn't a legal chess move, the search uses it to see how strong a position is when the side to move does nothing.
+    * It mustn't be made when the side to move is in check.
+    * @return
+    *  Returns the information that has to be given to unmakeNullMove() to take the null move back
+    */
+   public UndoInfo makeNullMove() {
+       UndoInfo undo = undoStack[undoCount++];
+       undo.enPassant = enPassant;
+       undo.halfMoveClock = halfMoveClock;
+       undo.zobristKey = zobristKey;
+       undo.lastNullMove = lastNullMove;
+       lastNullMove = historyCount;
+       pushKey(zobristKey);
+
+       // nothing can be taken enpassant after a null move
+       zobristKey ^= castlingAndEnPassantKey();
+       enPassant = Const.EMPTY;
+       zobristKey ^= castlingAndEnPassantKey();
+
+       zobristKey ^= Zobrist.BLACK_TO_MOVE;
+       turn = (turn == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       halfMoveClock++;
+       return undo;
+   }
+
+   // takes back a null move made with makeNullMove()
+   public void unmakeNullMove(UndoInfo undo) {
+       enPassant = undo.enPassant;
+       halfMoveClock = undo.halfMoveClock;
+       zobristKey = undo.zobristKey;
+       lastNullMove = undo.lastNullMove;
+       turn = (turn == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       undoCount--;
+       historyCount--;
+   }
+
+   // adds a key to the key history, making the history bigger if it is full (a game can be longer than any fixed size)
+   private void pushKey(long key) {
+       if (historyCount == keyHistory.length)
+           keyHistory = Arrays.copyOf(keyHistory, 2*keyHistory.length);
+       keyHistory[historyCount++] = key;
+   }
+
+   // returns the index of the oldest key in keyHistory that this position could be a repetition of:
+   // nothing from before the last capture or pawn move, and nothing from before the last null move
+   private int oldestRepeatableKey() {
+       return Math.max(Math.max(historyCount - halfMoveClock, lastNullMove + 1), 0);
+   }
+
+   /**
+    * Counts how many times this position already happened.
+    * Only the positions since the last capture or pawn move are looked at, because those moves can't be taken back,
+    * and only every other one, because the same side has to be to move.
+    * @return
+    *  Returns 0 if the position is new, 1 if it happened once before, and 2 or more if it is a threefold repetition
+    */
+   public int countRepetitions() {
+       int count = 0;
+       int oldest = oldestRepeatableKey();
+       for (int i = historyCount - 2; i >= oldest; i -= 2) {
+           if (keyHistory[i] == zobristKey)
+               count++;
+       }
+       return count;
+   }
+
+   // returns whether this position already happened at least once
+   // the search counts this as a draw, since if repeating the position was good, the side to move could just keep repeating it
+   public boolean isRepetition() {
+       int oldest = oldestRepeatableKey();
+       for (int i = historyCount - 2; i >= oldest; i -= 2) {
+           if (keyHistory[i] == zobristKey)
+               return true;
+       }
+       return false;
+   }
+
+   // returns whether the color has any pieces other than pawns and its king
+   // positions where a side only has pawns are the ones where passing would be better than any move (zugzwang)
+   public boolean hasNonPawnMaterial(int color) {
+       return (occupancy[color] & ~getBitboard(Const.PAWN_PIECE, color) & ~getBitboard(Const.KING_PIECE, color)) != 0;
+   }
+
+   //returns the common name of a square given the index
+   //e.g. returns "a2" when given index 8
+   public String indexToCoordinate(int index) {
+       String coordinate = "";
+
+       char[] chars = {'a', 'b','c','d','e','f','g','h'};
+       int file = index % 8;
+       coordinate += chars[file];
+
+       int rank = index / 8;
+       rank++;
+       coordinate += Integer.toString(rank);
+
+       return coordinate;
+   }
+
+   //returns the move in coordinate notation, with the piece a pawn is promoted to at the end
+   //e.g. returns "e2e4" for e2 to e4, and "e7e8n" for a pawn on e7 promoting to a knight
+   public String moveToString(int move) {
+       String text = indexToCoordinate(Move.getStart(move)) + indexToCoordinate(Move.getEnd(move));
+       if (Move.isPromotion(move))
+           text += pieceToSymbol(Move.getPromotionPiece(move), Const.BLACK);
+       return text;
+   }
+
+   // returns the index form of a square from its common name
+   // e.g. returns 8 when given "a2"
+   public int coordinateToIndex(String coordinate) {
+       int file;
+       int rank;
+       char fileChar = coordinate.charAt(0);
+       file = columnToNumber(fileChar);
+       rank = Character.getNumericValue(coordinate.charAt(1));
+
+       return (rank * 8 - 8 + file);
+   }
+
+
+   /**
+    * Finds all the legal moves of the side to move.
+    * @return
+    *      Returns a new array with the legal moves at the front, followed by a 0.
+    */
+   public int[] findLegalMoves(Position p) {
+       int[] legalMoves = new int[Const.BUFFER_SIZE];
+       p.generateMoves(Const.GENERATE_ALL, legalMoves);
+       return legalMoves;
+   }
+
+   /**
+    * Puts the legal moves of the side to move in the buffer.
+    * Only legal moves are made: the pieces pinned to the king and the pieces giving check are found once,
+    * so that no move has to be made to see whether it leaves the king in check.
+    * When the king is in check, only the moves that get it out of check are made.
+    * The search asks for the captures first and the quiet moves later, so that a cutoff on a capture
+    * means the quiet moves are never made at all.
+    *
+    * note:
+    * moves are packed into 16 bits with the start square, the end square, and what kind of move it is (see Move)
+    * e.g the move "e2e4" is Move.make(12, 28), since 12 is the index for "e2", and 28 is the index for "e4"
+    * every promotion is made four times, once for each piece the pawn can become
+    *
+    *  the index map of the board looks like this:
+    *
+    *  8| 56 57 58 59 60 61 62 63
+    *  7| 48 49 50 51 52 53 54 55
+    *  6| 40 41 42 43 44 45 46 47
+    *  5| 32 33 34 35 36 37 38 39
+    *  4| 24 25 26 27 28 29 30 31
+    *  3| 16 17 18 19 20 21 22 23
+    *  2| 8  9  10 11 12 13 14 15
+    *  1| 0  1  2  3  4  5  6  7
+    *     a  b  c  d  e  f  g  h
+    *
+    * @param type
+    *      Which moves to make: Const.GENERATE_CAPTURES, Const.GENERATE_QUIETS, or Const.GENERATE_ALL
+    * @param buffer
+    *      Where the moves are put. The moves are at the front, followed by a 0.
+    *      Anything after the 0 is left over from before.
+    * @return
+    *      Returns how many moves were put in the buffer
+    */
+   public int generateMoves(int type, int[] buffer) {
+       return generateMoves(type, -1L, buffer);
+   }
+
+   // the same as generateMoves(type, buffer), but only moves the pieces on the squares in from
+   private int generateMoves(int type, long from, int[] buffer) {
+       int count = 0;
+       int color = turn;
+       int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       int kingSquare = getKingSquare(color);
+       long own = occupancy[color];
+       long enemy = occupancy[opponent];
+
+       // the squares that the type of move can go to
+       // pawn moves are worked out on their own, since their pushes to the last rank count as captures
+       long targetMask = 0L;
+       if ((type & Const.GENERATE_CAPTURES) != 0)
+           targetMask |= enemy;
+       if ((type & Const.GENERATE_QUIETS) != 0)
+           targetMask |= ~occupied;
+
+       // the king can go to any square that isn't attacked once it has moved
+       // the king is taken off of the board first, or it would hide the squares behind it from a sliding piece that checks it
+       if ((from & (1L << kingSquare)) != 0) {
+           long withoutKing = occupied & ~(1L << kingSquare);
+           long targets = Bitboards.KING_ATTACKS[kingSquare] & targetMask;
+           while (targets != 0) {
+               int end = Long.numberOfTrailingZeros(targets);
+               targets &= targets - 1;
+               if (attackersTo(end, opponent, withoutKing) == 0)
+                   buffer[count++] = Move.make(kingSquare, end);
+           }
+       }
+
+       long checkers = attackersTo(kingSquare, opponent, occupied);
+       // in double check only the king can move
+       if (Long.bitCount(checkers) > 1) {
+           if (count < buffer.length)
+               buffer[count] = 0;
+           return count;
+       }
+
+       // in check, the other pieces have to capture the piece giving check or block it
+       long evasionMask = -1L;
+       if (checkers != 0)
+           evasionMask = checkers | Bitboards.BETWEEN[kingSquare][Long.numberOfTrailingZeros(checkers)];
+       else if ((type & Const.GENERATE_QUIETS) != 0 && (from & (1L << kingSquare)) != 0)
+           count = addCastling(color, opponent, buffer, count);
+
+       long pinned = pinnedPieces(color, kingSquare);
+       long pieces = own & from & ~(1L << kingSquare);
+       while (pieces != 0) {
+           int start = Long.numberOfTrailingZeros(pieces);
+           pieces &= pieces - 1;
+
+           // a pinned piece can only move along the line between its king and the piece pinning it
+           long allowed = evasionMask;
+           if ((pinned & (1L << start)) != 0)
+               allowed &= Bitboards.LINE[kingSquare][start];
+
+           int piece = squarePiece[start];
+           long targets;
+           if (piece == Const.PAWN_PIECE) {
+               targets = pawnTargets(start, color, type, enemy) & allowed;
+               if ((type & Const.GENERATE_CAPTURES) != 0 && isLegalEnPassant(start, color, opponent, kingSquare))
+                   buffer[count++] = Move.make(start, enPassant, Const.EN_PASSANT_FLAG);
+
+               // a pawn reaching the last rank can become a queen, rook, bishop, or knight
+               long promotions = targets & (Bitboards.RANK_1 | Bitboards.RANK_8);
+               targets &= ~promotions;
+               while (promotions != 0) {
+                   int end = Long.numberOfTrailingZeros(promotions);
+                   promotions &= promotions - 1;
+                   for (int promotion = Const.QUEEN_PIECE; promotion >= Const.KNIGHT_PIECE; promotion--)
+                       buffer[count++] = Move.makePromotion(start, end, promotion);
+               }
+           }
+           else
+               targets = Bitboards.attacks(piece, color, start, occupied) & targetMask & allowed;
+
+           while (targets != 0) {
+               buffer[count++] = Move.make(start, Long.numberOfTrailingZeros(targets));
+               targets &= targets - 1;
+           }
+       }
+
+       // marks the end of the moves (the rest of the buffer may still have moves in it from the last time it was used)
+       if (count < buffer.length)
+           buffer[count] = 0;
+       return count;
+   }
+
+   // returns the squares a pawn can move to (not counting enpassant), for the given type of move
+   // pushes to the last rank are promotions, so they are made with the captures
+   private long pawnTargets(int start, int color, int type, long enemy) {
+       long pushes = 0L;
+       int forward = (color == Const.WHITE) ? start+8 : start-8;
+       // if there isn't a piece directly in front of the pawn, it can move up one square
+       if ((occupied & (1L << forward)) == 0) {
+           pushes |= 1L << forward;
+           // if the pawn is on its starting rank, and the square two in front is also empty, it can move two squares
+           int doubleForward = (color == Const.WHITE) ? start+16 : start-16;
+           long startRank = (color == Const.WHITE) ? Bitboards.RANK_2 : Bitboards.RANK_7;
+           if ((startRank & (1L << start)) != 0 && (occupied & (1L << doubleForward)) == 0)
+               pushes |= 1L << doubleForward;
+       }
+
+       long lastRank = Bitboards.RANK_1 | Bitboards.RANK_8;
+       long targets = 0L;
+       if ((type & Const.GENERATE_CAPTURES) != 0)
+           targets |= (Bitboards.PAWN_ATTACKS[color][start] & enemy) | (pushes & lastRank);
+       if ((type & Const.GENERATE_QUIETS) != 0)
+           targets |= pushes & ~lastRank;
+       return targets;
+   }
+
+   // returns whether the pawn can take enpassant
+   // the board is looked at as it would be after the capture, since taking two pawns off of the same rank can expose the king
+   private boolean isLegalEnPassant(int start, int color, int opponent, int kingSquare) {
+       if (enPassant == Const.EMPTY || (Bitboards.PAWN_ATTACKS[color][start] & (1L << enPassant)) == 0)
+           return false;
+       int captured = (color == Const.WHITE) ? enPassant-8 : enPassant+8;
+       long occupiedAfter = (occupied & ~(1L << start) & ~(1L << captured)) | (1L << enPassant);
+       return (attackersTo(kingSquare, opponent, occupiedAfter) & occupiedAfter) == 0;
+   }
+
+   // adds the castling moves of the color, which can't be in check
+   // the squares between the king and rook have to be empty, and the king can't pass over an attacked square
+   private int addCastling(int color, int opponent, int[] buffer, int count) {
+       if (color == Const.WHITE) {
+           if (whiteKingside && (occupied & 0x60L) == 0
+                   && attackersTo(5, opponent, occupied) == 0 && attackersTo(6, opponent, occupied) == 0)
+               buffer[count++] = Move.make(4, 6, Const.CASTLING_FLAG); // e1 to g1
+           if (whiteQueenside && (occupied & 0x0EL) == 0
+                   && attackersTo(3, opponent, occupied) == 0 && attackersTo(2, opponent, occupied) == 0)
+               buffer[count++] = Move.make(4, 2, Const.CASTLING_FLAG); // e1 to c1
+       }
+       else {
+           if (blackKingside && (occupied & (0x60L << 56)) == 0
+                   && attackersTo(61, opponent, occupied) == 0 && attackersTo(62, opponent, occupied) == 0)
+               buffer[count++] = Move.make(60, 62, Const.CASTLING_FLAG); // e8 to g8
+           if (blackQueenside && (occupied & (0x0EL << 56)) == 0
+                   && attackersTo(59, opponent, occupied) == 0 && attackersTo(58, opponent, occupied) == 0)
+               buffer[count++] = Move.make(60, 58, Const.CASTLING_FLAG); // e8 to c8
+       }
+       return count;
+   }
+
+   // returns the pieces of the color that are the only thing between their king and an enemy bishop, rook, or queen
+   // (the pieces of either color in the way are found by looking at the king's lines with only the enemy pieces on the board)
+   private long pinnedPieces(int color, int kingSquare) {
+       int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       long queens = getBitboard(Const.QUEEN_PIECE, opponent);
+       long snipers = (Bitboards.bishopAttacks(kingSquare, occupancy[opponent])
+                       & (getBitboard(Const.BISHOP_PIECE, opponent) | queens))
+               | (Bitboards.rookAttacks(kingSquare, occupancy[opponent])
+                       & (getBitboard(Const.ROOK_PIECE, opponent) | queens));
+
+       long pinned = 0L;
+       while (snipers != 0) {
+           int sniper = Long.numberOfTrailingZeros(snipers);
+           snipers &= snipers - 1;
+           long blockers = Bitboards.BETWEEN[kingSquare][sniper] & occupied;
+           if (Long.bitCount(blockers) == 1)
+               pinned |= blockers & occupancy[color];
+       }
+       return pinned;
+   }
+
+   /**
+    * Finds out whether a move is legal in this position.
+    * This is used on moves that didn't come from this position's move list, like the move stored in the transposition table,
+    * which could be from a different position with the same key.
+    */
+   public boolean isLegalMove(int move) {
+       int start = Move.getStart(move);
+       if (move == 0 || squareColor[start] != turn)
+           return false;
+       int count = generateMoves(Const.GENERATE_ALL, 1L << start, scratch);
+       for (int i = 0; i<count; i++) {
+           if (scratch[i] == move)
+               return true;
+       }
+       return false;
+   }
+
+   // returns whether the side to move has any legal move
+   public boolean hasLegalMoves() {
+       return generateMoves(Const.GENERATE_ALL, scratch) != 0;
+   }
+
+   // returns whether the side to move is in check
+   public boolean isInCheck() {
+       int opponent = (turn == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       return attackersTo(getKingSquare(turn), opponent, occupied) != 0;
+   }
+
+   /**
+    * Finds the pieces of a color that attack a square.
+    * @param occupied
+    *      The squares that count as occupied. This can be different from the real board,
+    *      to see what would attack the square after pieces have moved.
+    */
+   public long attackersTo(int square, int color, long occupied) {
+       int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       long queens = getBitboard(Const.QUEEN_PIECE, color);
+       return (Bitboards.PAWN_ATTACKS[opponent][square] & getBitboard(Const.PAWN_PIECE, color))
+               | (Bitboards.KNIGHT_ATTACKS[square] & getBitboard(Const.KNIGHT_PIECE, color))
+               | (Bitboards.KING_ATTACKS[square] & getBitboard(Const.KING_PIECE, color))
+               | (Bitboards.bishopAttacks(square, occupied) & (getBitboard(Const.BISHOP_PIECE, color) | queens))
+               | (Bitboards.rookAttacks(square, occupied) & (getBitboard(Const.ROOK_PIECE, color) | queens));
+   }
+
+   // returns whether any piece of the given color attacks the square
+   public boolean isSquareAttacked(int square, int color) {
+       return attackersTo(square, color, occupied) != 0;
+   }
+
+   /**
+    * Finds out whether a move puts the other king in check without making the move.
+    * It looks for the moved piece attacking the king (direct check), and for a bishop, rook, or queen
+    * that attacks the king once the moved piece is out of the way (discovered check).
+    * The rarer checks from castling and enpassant aren't found, which is fine for ordering moves.
+    *
+    * @param move
+    *      A legal move in this position.
+    * @return
+    *      Returns true if the move gives check.
+    */
+   public boolean givesCheck(int move) {
+       int start = Move.getStart(move);
+       int end = Move.getEnd(move);
+       int color = squareColor[start];
+       int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       int piece = squarePiece[start];
+       if (Move.isPromotion(move))
+           piece = Move.getPromotionPiece(move);
+
+       int kingSquare = getKingSquare(opponent);
+       long startBit = 1L << start;
+       long occupiedAfter = (occupied & ~startBit) | (1L << end);
+
+       if ((Bitboards.attacks(piece, color, end, occupiedAfter) & (1L << kingSquare)) != 0)
+           return true;
+
+       // the moved piece is left out of these since its direct checks were already looked for
+       long queens = getBitboard(Const.QUEEN_PIECE, color);
+       long diagonal = (getBitboard(Const.BISHOP_PIECE, color) | queens) & ~startBit;
+       long straight = (getBitboard(Const.ROOK_PIECE, color) | queens) & ~startBit;
+       return (Bitboards.bishopAttacks(kingSquare, occupiedAfter) & diagonal) != 0
+               || (Bitboards.rookAttacks(kingSquare, occupiedAfter) & straight) != 0;
+   }
+
+   /** returns an array with every square that the specified color is currently attacking.
+    *  Squares that are under direct attack have values of 1.
+    *  Squares that a bishop, rook, or queen would attack if one piece of the other color was moved out of the way
+    *  have values of 2 (discovered attack).
+    This is done so that finding illegal moves is more efficient
+    */
+   public int[] threatMap(Position p, int color, int[] map) {
+       Arrays.fill(map,0);
+
+       int opponent = (color == Const.WHITE) ? Const.BLACK : Const.WHITE;
+       long direct = 0L;
+       long discovered = 0L;
+
+       long pieces = p.occupancy[color];
+       while (pieces != 0) {
+           int i = Long.numberOfTrailingZeros(pieces);
+           pieces &= pieces - 1;
+
+           int piece = p.squarePiece[i];
+           long attacks = Bitboards.attacks(piece, color, i, p.occupied);
+           direct |= attacks;
+
+           // the sliding pieces also look through the first piece of the other color on each line
+           // the squares behind it are under discovered attack, up to and including the next piece of the other color
+           if (piece == Const.BISHOP_PIECE || piece == Const.ROOK_PIECE || piece == Const.QUEEN_PIECE) {
+               long xRay = Bitboards.attacks(piece, color, i, p.occupied & ~(attacks & p.occupancy[opponent]));
+               discovered |= xRay & ~attacks & ~p.occupancy[color];
+           }
+       }
+
+       // a direct attack from one piece is more important than a discovered attack from another
+       discovered &= ~direct;
+       while (direct != 0) {
+           map[Long.numberOfTrailingZeros(direct)] = Const.DIRECT_ATTACK;
+           direct &= direct - 1;
+       }
+       while (discovered != 0) {
+           map[Long.numberOfTrailingZeros(discovered)] = Const.DISCOVERED_ATTACK;
+           discovered &= discovered - 1;
+       }
+
+       return map;
+   }
+
+   // turns 'a' to 0, 'b' to 1, ... , 'h' to 7
+   public int columnToNumber(char c) {
+       return c - 'a';
+   }
+
+   // returns the associated piece given a character representation of the piece
+   public Pieces characterToPiece(char c) {
+       Pieces piece = new Pieces(Const.EMPTY, Const.NO_COLOR);
+       switch (Character.toLowerCase(c)) {
+           case 'p':
+               piece.piece = Const.PAWN_PIECE;
+               break;
+           case 'n':
+               piece.piece = Const.KNIGHT_PIECE;
+               break;
+           case 'b':
+               piece.piece = Const.BISHOP_PIECE;
+               break;
+           case 'r':
+               piece.piece = Const.ROOK_PIECE;
+               break;
+           case 'q':
+               piece.piece = Const.QUEEN_PIECE;
+               break;
+           case 'k':
+               piece.piece = Const.KING_PIECE;
+               break;
+       }
+       if (Character.isUpperCase(c))
+           piece.color = Const.WHITE;
+       else
+           piece.color = Const.BLACK;
+
+       return piece;
+   }
+
+   // returns the character representation of a piece
+   // e.g. valueToSymbol(PAWN_PIECE) returns PAWN_SYMBOL ('p')
+   public char pieceToSymbol(int piece, int color) {
+       char symbol;
+       switch (piece) {
+           case Const.EMPTY:
+               symbol = Const.EMPTY_SYMBOL;
+               break;
+           case Const.PAWN_PIECE:
+               symbol = Const.PAWN_SYMBOL;
+               break;
+           case Const.KNIGHT_PIECE:
+               symbol = Const.KNIGHT_SYMBOL;
+               break;
+           case Const.BISHOP_PIECE:
+               symbol = Const.BISHOP_SYMBOL;
+               break;
+           case Const.ROOK_PIECE:
+               symbol = Const.ROOK_SYMBOL;
+               break;
+           case Const.QUEEN_PIECE:
+               symbol = Const.QUEEN_SYMBOL;
+               break;
+           case Const.KING_PIECE:
+               symbol = Const.KING_SYMBOL;
+               break;
+           default:
+               return (char) -1;
+       }
+       if (color == Const.WHITE)
+           return Character.toUpperCase(symbol);
+       else //if color is black
+           return Character.toLowerCase(symbol);
+   }
+
+   //prints the current board position
+   public void printBoard() {
+       System.out.println("Board Position:\n\n");
+       for (int y = 7; y >=0; y--) {
+           for (int x = 0; x <= 7; x++) {
+               System.out.print(pieceToSymbol(squarePiece[y*8 + x], squareColor[y*8 + x]));
+               System.out.print(" ");
+           }
+           System.out.println();
+       }
+   }
+
+   //reads a fen string and sets the board up according to that fen
+   public void readFen(String fen) {
+
+       Arrays.fill(bitboards, 0L);
+       Arrays.fill(occupancy, 0L);
+       Arrays.fill(squarePiece, Const.EMPTY);
+       Arrays.fill(squareColor, Const.NO_COLOR);
+       occupied = 0L;
+       zobristKey = 0L;
+       // the moves and keys of the last position read can't be undone or repeated in this one
+       undoCount = 0;
+       historyCount = 0;
+       lastNullMove = -1;
+       material = 0;
+       phase = 0;
+       middlegameScore = 0;
+       endgameScore = 0;
+
+       int stringIndex = 0;
+       int x, y; /** x represents the file, y represents the column */
+       char currentChar;
+
+       /** rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 */
+
+       // goes through the first part of the fen ("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR") and assigns each square on the board its piece
+       for (y = 7; y >= 0; y--) {
+           for (x = 0; x <= 7; x++) {
+               currentChar = fen.charAt(stringIndex);
+
+               if (currentChar == '/') {
+                   x--; //this essentially "skips" this character
+               }
+               else if (Character.isDigit(currentChar))
+                   x += Character.getNumericValue(currentChar) - 1;
+               else if (Character.isAlphabetic(currentChar)) {
+                   Pieces piece = characterToPiece(currentChar);
+                   putPiece(8*y + x, piece.piece, piece.color);
+               }
+
+               stringIndex++;
+           }
+       }
+
+       stringIndex++;
+       currentChar = fen.charAt(stringIndex);
+
+       /** whose turn it is */
+       if (currentChar == 'w')
+           this.turn = Const.WHITE;
+       else
+           this.turn = Const.BLACK;
+
+       /** castling parameters */
+       // every right is cleared first, so that the rights the fen leaves out don't carry over from the last position read
+       this.whiteKingside =
+               this.blackKingside =
+                       this.whiteQueenside =
+                               this.blackQueenside = false;
+       stringIndex += 2;
+       currentChar = fen.charAt(stringIndex);
+       if (currentChar == '-')
+           stringIndex++;
+       else
+           // reads the castling part of the fen
+           for (currentChar = fen.charAt(stringIndex); Character.isAlphabetic(currentChar); currentChar = fen.charAt(stringIndex+1), stringIndex++) {
+               switch (currentChar) {
+                   case 'K':
+                       whiteKingside = true;
+                       break;
+                   case 'Q':
+                       whiteQueenside = true;
+                       break;
+                   case 'k':
+                       blackKingside = true;
+                       break;
+                   case 'q':
+                       blackQueenside = true;
+                       break;
+               }
+           }
+
+       // reads the enpassant square
+       stringIndex++;
+       currentChar = fen.charAt(stringIndex);
+       if (currentChar == '-')
+           this.enPassant = Const.EMPTY;
+       else {
+           int xCoordinate = columnToNumber(currentChar);
+           stringIndex++;
+           currentChar = fen.charAt(stringIndex);
+           int yCoordinate = Character.getNumericValue(currentChar) - 1;
+
+           this.enPassant = xCoordinate + yCoordinate*8;
+       }
+
+       // reads the half move clock
+       // each digit shifts the ones before it up a place, e.g. "31" is 3*10 + 1
+       stringIndex += 2;
+       this.halfMoveClock = 0;
+       while (stringIndex < fen.length() && Character.isDigit(fen.charAt(stringIndex))) {
+           this.halfMoveClock = this.halfMoveClock*10 + Character.getNumericValue(fen.charAt(stringIndex));
+           stringIndex++;
+       }
+
+       // reads the full move clock, which goes to the end of the fen
+       stringIndex += 1;
+       this.fullMoveClock = 0;
+       for (; stringIndex < fen.length(); stringIndex++) {
+           currentChar = fen.charAt(stringIndex);
+           this.fullMoveClock = this.fullMoveClock*10 + Character.getNumericValue(currentChar);
+       }
+
+       this.zobristKey = computeZobristKey();
+       this.pawnKey = computePawnKey();
+   }
+
+}
@@ -0,0 +1,136 @@
+package chessbot;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* This class remembers the results of positions that were already searched, so that
+* positions reached by a different order of moves (transpositions) don't have to be searched again.
+*
+* Each entry is two longs: the Zobrist key of the position and the packed data about it.
+* The data holds the best move, the depth that was searched, what kind of bound the score is, and the score.
+* The key is stored XORed with the data. When the entry is read back, XORing the two longs again only gives the
+* right key if both longs were written by the same store. This lets several search threads share the table
+* without locks: an entry that is half overwritten by another thread simply doesn't match and is treated as a miss.
+*/
+public class TranspositionTable {
+
+   // where each field is in the packed data
+   //   bits 0-15  the best move
+   //   bits 16-23 the depth
+   //   bits 24-25 the bound (Const.EXACT_BOUND, Const.LOWER_BOUND, or Const.UPPER_BOUND)
+   //   bit 26     set on every stored entry so that a stored entry is never 0
+   //   bits 32-63 the score
+   private static final int DEPTH_SHIFT = 16;
+   private static final int BOUND_SHIFT = 24;
+   private static final long VALID_BIT = 1L << 26;
+   private static final int SCORE_SHIFT = 32;
+
+   // entry i is stored at [2*i] (key XOR data) and [2*i + 1] (data)
+   private final long[] entries;
+
+   // the number of entries minus one (the number of entries is a power of two)
+   private final int mask;
+
+   // statistics about how the table is being used
+   private final LongAdder probes = new LongAdder();
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder stores = new LongAdder();
+
+   /**
+    * @param sizeMB
+    *      How many megabytes the table may use.
+    *      The number of entries is rounded down to a power of two so that an index is just the low bits of the key.
+    */
+   public TranspositionTable(int sizeMB) {
+       long bytes = (long) sizeMB * 1024 * 1024;
+       long count = Long.highestOneBit(Math.max(bytes / 16, 1));
+       entries = new long[(int) (count * 2)];
+       mask = (int) (count - 1);
+   }
+
+   /**
+    * Looks up the position.
+    * @param key
+    *      The Zobrist key of the position
+    * @return
+    *      Returns the packed data of the entry, or 0 if the position isn't in the table.
+    *      The data can be read with getMove(), getDepth(), getBound(), and getScore().
+    */
+   public long probe(long key) {
+       probes.increment();
+       int index = ((int) key & mask) * 2;
+       long data = entries[index + 1];
+       if (data != 0 && (entries[index] ^ data) == key) {
+           hits.increment();
+           return data;
+       }
+       return 0L;
+   }
+
+   /**
+    * Stores the result of searching a position.
+    * If the entry already has the same position searched to a greater depth, that result is kept instead.
+    */
+   public void store(long key, int move, int depth, int bound, int score) {
+       int index = ((int) key & mask) * 2;
+       long oldData = entries[index + 1];
+       if (oldData != 0 && (entries[index] ^ oldData) == key && getDepth(oldData) > depth)
+           return;
+
+       long data = (move & 0xFFFFL)
+               | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+               | ((long) bound << BOUND_SHIFT)
+               | VALID_BIT
+               | ((long) score << SCORE_SHIFT);
+       entries[index] = key ^ data;
+       entries[index + 1] = data;
+       stores.increment();
+   }
+
+   // empties the table and resets the statistics
+   public void clear() {
+       Arrays.fill(entries, 0L);
+       probes.reset();
+       hits.reset();
+       stores.reset();
+   }
+
+   public static int getMove(long data) {
+       return (int) (data & 0xFFFF);
+   }
+
+   public static int getDepth(long data) {
+       return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+   }
+
+   public static int getBound(long data) {
+       return (int) ((data >>> BOUND_SHIFT) & 0x3);
+   }
+
+   public static int getScore(long data) {
+       return (int) (data >> SCORE_SHIFT);
+   }
+
+   public int getSize() {
+       return entries.length / 2;
+   }
+
+   public long getProbes() {
+       return probes.sum();
+   }
+
+   public long getHits() {
+       return hits.sum();
+   }
+
+   public long getStores() {
+       return stores.sum();
+   }
+
+   // returns what fraction of the probes found their position
+   public double getHitRate() {
+       long probeCount = probes.sum();
+       return probeCount == 0 ? 0.0 : (double) hits.sum() / probeCount;
+   }
+}
@@ -0,0 +1,25 @@
+package chessbot;
+
+/**
+* This class holds the information about a position that can't be recovered after a move is made.
+* Position.makeMove() fills one of these in, and Position.unmakeMove() uses it to take the move back.
+*/
+public class UndoInfo {
+
+   /** stored values */
+   int movedPiece; // the piece that moved (so promotions can be turned back into pawns)
+   int capturedPiece; // the piece that was captured (Const.EMPTY if the move wasn't a capture)
+   boolean isEnPassant;
+
+   boolean whiteKingside;
+   boolean blackKingside;
+   boolean whiteQueenside;
+   boolean blackQueenside;
+
+   int enPassant;
+   int halfMoveClock;
+   int fullMoveClock;
+   long zobristKey;
+   int lastNullMove; // where the null move before this one put its key (only used by null moves)
+
+}
@@ -0,0 +1,50 @@
+package chessbot;
+
+/**
+* This class holds the random numbers used to make the Zobrist hash key of a position.
+* The key of a position is all the numbers of the things in the position XORed together.
+* Because XORing a number twice cancels it out, the key can be updated during a move
+* by only XORing the numbers of the things that changed.
+*/
+public class Zobrist {
+
+   // one number for every kind of piece of every color on every square
+   // indexed the same way as the bitboards in Position: [(color-1)*6 + (piece-1)][square]
+   public static final long[][] PIECES = new long[12][64];
+
+   // included when it is black's turn
+   public static final long BLACK_TO_MOVE;
+
+   // one number for each castling right
+   public static final long WHITE_KINGSIDE;
+   public static final long WHITE_QUEENSIDE;
+   public static final long BLACK_KINGSIDE;
+   public static final long BLACK_QUEENSIDE;
+
+   // one number for the file of the enpassant square
+   public static final long[] EN_PASSANT = new long[8];
+
+   // state of the random number generator (xorshift)
+   // the seed is fixed so that the same position has the same key every time the program runs
+   private static long seed = 0x5DEECE66D1234567L;
+
+   static {
+       for (int i = 0; i < 12; i++)
+           for (int square = 0; square < 64; square++)
+               PIECES[i][square] = random();
+       BLACK_TO_MOVE = random();
+       WHITE_KINGSIDE = random();
+       WHITE_QUEENSIDE = random();
+       BLACK_KINGSIDE = random();
+       BLACK_QUEENSIDE = random();
+       for (int file = 0; file < 8; file++)
+           EN_PASSANT[file] = random();
+   }
+
+   private static long random() {
+       seed ^= seed << 13;
+       seed ^= seed >>> 7;
+       seed ^= seed << 17;
+       return seed;
+   }
+}
@@ -0,0 +1,46 @@
+package chessbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+* Checks the move generator against the perft counts of well-known positions (see Perft).
+* The big positions are only counted to a shallow depth, and the edge cases with the biggest counts are left out,
+* so that the whole test takes about a second. Perft's main() still runs every reference position to its full depth.
+*/
+public class PerftTest {
+
+   // the name of the position, its fen, the depth to count to, and the correct number of positions at that depth
+   static Stream<Arguments> positions() {
+       return Stream.of(
+               Arguments.of("start position", Const.STARTING_POSITION, 4, 197281L),
+               Arguments.of("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 3, 97862L),
+               Arguments.of("position 3 (en passant and rook endgame)", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 4, 43238L),
+               Arguments.of("position 4 (promotions and castling)",
+                       "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 3, 9467L),
+               Arguments.of("position 5 (promotion with check)", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 3, 62379L),
+               Arguments.of("illegal en passant (pinned along a rank)", "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", 6, 1134888L),
+               Arguments.of("illegal en passant (pinned along a diagonal)", "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", 6, 1015133L),
+               Arguments.of("short castling gives check", "5k2/8/8/8/8/8/8/4K2R w K - 0 1", 6, 661072L),
+               Arguments.of("long castling gives check", "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", 6, 803711L),
+               Arguments.of("discovered check", "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", 5, 1004658L),
+               Arguments.of("promote to give check", "4k3/1P6/8/8/8/8/K7/8 w - - 0 1", 6, 217342L),
+               Arguments.of("underpromote to give check", "8/P1k5/K7/8/8/8/8/8 w - - 0 1", 6, 92683L),
+               Arguments.of("self stalemate", "K1k5/8/P7/8/8/8/8/8 w - - 0 1", 6, 2217L),
+               Arguments.of("stalemate and checkmate", "8/k1P5/8/1K6/8/8/8/8 w - - 0 1", 7, 567584L),
+               Arguments.of("stalemate and checkmate 2", "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", 4, 23527L));
+   }
+
+   @ParameterizedTest(name = "{0}")
+   @MethodSource("positions")
+   public void countsMatchReference(String name, String fen, int depth, long nodes) {
+       Position p = new Position();
+       p.readFen(fen);
+       assertEquals(nodes, new Perft().perft(p, depth), name + " (depth " + depth + ")");
+   }
+}